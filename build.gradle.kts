@@ -12,6 +12,7 @@ plugins {
     alias(pgtLibs.plugins.pgtDefaultJava)
     alias(pgtLibs.plugins.pgtDefaultRepo)
     alias(libs.plugins.blossom)
+    alias(libs.plugins.jmh)
     id("maven-publish")
     id("signing")
     java
@@ -113,6 +114,20 @@ dependencies {
 
     configurations.named(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME) { extendsFrom(shadeNoPom) }
     configurations.named(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME) { extendsFrom(shadeNoPom) }
+
+    // The benchmarks run outside of Minecraft, so everything provided by it at runtime has to be on their classpath
+    configurations.named("jmhCompileClasspath") { extendsFrom(configurations.compileOnly.get(), shadeNoPom) }
+    configurations.named("jmhRuntimeClasspath") { extendsFrom(configurations.compileOnly.get(), shadeNoPom) }
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    // e.g. ./gradlew jmh -Pjmh.includes=SearchBenchmark
+    project.findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+    resultFormat.set("JSON")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
 }
 
 tasks {
@@ -0,0 +1,115 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.config;
+
+import cc.polyfrost.oneconfig.config.core.OneColor;
+import cc.polyfrost.oneconfig.config.core.OneKeyBind;
+import cc.polyfrost.oneconfig.config.data.Mod;
+import cc.polyfrost.oneconfig.config.data.ModType;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigFiles;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson round-trips of a config through {@link ConfigFiles}, which is what {@link Config#save()} and
+ * {@link Config#load()} do for both of their files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigBenchmark {
+    private BenchmarkConfig config;
+    private Path directory;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        config = new BenchmarkConfig();
+        directory = Files.createTempDirectory("oneconfig-benchmark");
+        file = directory.resolve("benchmark.json");
+        ConfigFiles.write(file, config.gson, config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    @Benchmark
+    public String serialize() {
+        return config.gson.toJson(config);
+    }
+
+    @Benchmark
+    public boolean saveUnchanged() throws IOException {
+        return ConfigFiles.write(file, config.gson, config);
+    }
+
+    @Benchmark
+    public boolean saveChanged() throws IOException {
+        config.counter++;
+        return ConfigFiles.write(file, config.gson, config);
+    }
+
+    @Benchmark
+    public BenchmarkConfig load() throws IOException {
+        return ConfigFiles.read(file, config.gson, BenchmarkConfig.class);
+    }
+
+    public static class BenchmarkConfig extends Config {
+        public int counter;
+        public boolean toggle = true;
+        public float slider = 0.5f;
+        public String text = "Some text that is typed in";
+        public OneColor color = new OneColor(255, 0, 100);
+        public OneKeyBind keyBind = new OneKeyBind(42, 31);
+        public List<String> entries = new ArrayList<>();
+        public int[] numbers = new int[64];
+
+        public BenchmarkConfig() {
+            super(new Mod("Benchmark", ModType.UTIL_QOL), "benchmark.json");
+            for (int i = 0; i < 64; i++) {
+                entries.add("Entry " + i);
+                numbers[i] = i * i;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.config.migration;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing old config files with {@link CfgMigrator} and {@link JsonMigrator}, done once per migrated config on its
+ * first launch with OneConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MigratorBenchmark {
+    @Param({"10", "100"})
+    public int categories;
+
+    private Path directory;
+    private CfgMigrator cfgMigrator;
+    private JsonMigrator jsonMigrator;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("oneconfig-benchmark");
+        StringBuilder cfg = new StringBuilder();
+        StringBuilder json = new StringBuilder("{\n");
+        for (int i = 0; i < categories; i++) {
+            cfg.append("category").append(i).append(" {\n")
+                    .append("    B:enabled=true\n")
+                    .append("    I:count=").append(i).append('\n')
+                    .append("    D:scale=1.5\n")
+                    .append("    S:name=\"Category ").append(i).append("\"\n")
+                    .append("}\n\n");
+            if (i != 0) json.append(",\n");
+            json.append("  \"category").append(i).append("\": {\"enabled\": true, \"count\": ").append(i)
+                    .append(", \"scale\": 1.5, \"name\": \"Category ").append(i).append("\", \"nested\": {\"opacity\": 0.97}}");
+        }
+        json.append("\n}");
+        Path cfgFile = directory.resolve("old.cfg");
+        Path jsonFile = directory.resolve("old.json");
+        Files.write(cfgFile, cfg.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(jsonFile, json.toString().getBytes(StandardCharsets.UTF_8));
+        cfgMigrator = new CfgMigrator(cfgFile.toString());
+        jsonMigrator = new JsonMigrator(jsonFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    @Benchmark
+    public HashMap<String, HashMap<String, Object>> cfgGenerateValues() {
+        cfgMigrator.values = null;
+        cfgMigrator.generateValues();
+        return cfgMigrator.values;
+    }
+
+    @Benchmark
+    public HashMap<String, Object> jsonGenerateValues() {
+        jsonMigrator.generateValues();
+        return jsonMigrator.values;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.hud;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anchor computation in {@link Position#setPosition(float, float, float, float)}, done for every HUD being dragged
+ * and whenever the screen is resized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PositionBenchmark {
+    private static final float SCREEN_WIDTH = 960;
+    private static final float SCREEN_HEIGHT = 540;
+    private Position position;
+    private int step;
+
+    @Setup
+    public void setup() {
+        position = new Position(null, 0, 0, 120, 40, SCREEN_WIDTH, SCREEN_HEIGHT);
+    }
+
+    @Benchmark
+    public float setPosition() {
+        // walk over the whole screen so every anchor is hit
+        step = (step + 37) % 2048;
+        float x = (step % 64) / 64f * SCREEN_WIDTH;
+        float y = (step / 64) / 32f * SCREEN_HEIGHT;
+        position.setPosition(x, y, SCREEN_WIDTH, SCREEN_HEIGHT);
+        return position.getX(SCREEN_WIDTH);
+    }
+}
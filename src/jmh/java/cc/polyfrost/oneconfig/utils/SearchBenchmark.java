@@ -0,0 +1,82 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.utils;
+
+import cc.polyfrost.oneconfig.internal.utils.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches a search query against a page worth of option names, like the config GUI does every frame while searching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+    private static final String[] WORDS = {"Enable", "Hud", "Color", "Background", "Text", "Scale", "Position", "Rounded", "Corner",
+            "Border", "Shadow", "Chroma", "Speed", "Keybind", "Toggle", "Sprint", "Sneak", "Overlay", "Padding", "Radius"};
+
+    @Param({"100", "1000"})
+    public int options;
+
+    @Param({"col", "backgrund", "rounded corner"})
+    public String query;
+
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        names = new String[options];
+        for (int i = 0; i < options; i++) {
+            names[i] = WORDS[i % WORDS.length] + " " + WORDS[(i * 7 + 3) % WORDS.length] + " " + i;
+            SearchIndex.add(names[i]);
+        }
+    }
+
+    @Benchmark
+    public void searchUtils(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(SearchUtils.isSimilar(name, query, 2));
+        }
+    }
+
+    @Benchmark
+    public void searchIndex(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(SearchIndex.isSimilar(name, query, 2));
+        }
+    }
+}
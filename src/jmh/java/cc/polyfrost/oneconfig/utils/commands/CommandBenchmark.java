@@ -0,0 +1,130 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.utils.commands;
+
+import cc.polyfrost.oneconfig.utils.commands.annotations.Command;
+import cc.polyfrost.oneconfig.utils.commands.annotations.Greedy;
+import cc.polyfrost.oneconfig.utils.commands.annotations.Main;
+import cc.polyfrost.oneconfig.utils.commands.annotations.SubCommand;
+import cc.polyfrost.oneconfig.utils.commands.annotations.SubCommandGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing, parsing the arguments of a command and invoking it, as done for every command a player runs, and tab
+ * completion, which is done for every key typed while writing one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandBenchmark {
+    private static Blackhole blackhole;
+    private CommandManager.OCCommand command;
+    private CommandManager.InternalCommand set;
+    private CommandManager.InternalCommand toggle;
+    private CommandManager.InternalCommand say;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        CommandBenchmark.blackhole = blackhole;
+        CommandManager.register(new BenchmarkCommand());
+        command = BenchmarkPlatformCommandManager.lastCommand;
+        for (Map.Entry<CommandManager.InternalCommand, String[]> entry : command.commandsMap.entrySet()) {
+            switch (entry.getKey().getName()) {
+                case "set":
+                    set = entry.getKey();
+                    break;
+                case "toggle":
+                    toggle = entry.getKey();
+                    break;
+                case "say":
+                    say = entry.getKey();
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public Object route() {
+        return command.trie.getCommand(new String[]{"chat", "say", "hello", "there"});
+    }
+
+    @Benchmark
+    public Object complete() {
+        return command.trie.getApplicableOptsFor(new String[]{"ch"});
+    }
+
+    @Benchmark
+    public String numbers() {
+        return set.invoke("12", "0.75");
+    }
+
+    @Benchmark
+    public String booleanAlias() {
+        return toggle.invoke("enabled");
+    }
+
+    @Benchmark
+    public String greedy() {
+        return say.invoke("hello", "there", "general", "kenobi");
+    }
+
+    @Command("benchmark")
+    public static class BenchmarkCommand {
+        @Main
+        private void main() {
+        }
+
+        @SubCommand
+        private void set(int value, float scale) {
+            blackhole.consume(value);
+            blackhole.consume(scale);
+        }
+
+        @SubCommand
+        private void toggle(boolean value) {
+            blackhole.consume(value);
+        }
+
+        @SubCommandGroup("chat")
+        private static class Chat {
+            @SubCommand
+            private void say(@Greedy String message) {
+                blackhole.consume(message);
+            }
+        }
+    }
+}
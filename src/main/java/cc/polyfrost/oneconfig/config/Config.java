@@ -50,9 +50,13 @@ import cc.polyfrost.oneconfig.hud.HUDUtils;
 import cc.polyfrost.oneconfig.internal.config.SubMainConfig;
 import cc.polyfrost.oneconfig.internal.config.annotations.Option;
 import cc.polyfrost.oneconfig.internal.config.core.ConfigCore;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigFiles;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigTypeAdapterFactory;
 import cc.polyfrost.oneconfig.internal.config.core.KeyBindHandler;
 import cc.polyfrost.oneconfig.internal.utils.Deprecator;
+import cc.polyfrost.oneconfig.internal.utils.SearchIndex;
 import cc.polyfrost.oneconfig.utils.gui.GuiUtils;
+import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.apache.logging.log4j.LogManager;
@@ -60,33 +64,27 @@ import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 @SuppressWarnings({"unused", "ResultOfMethodCallIgnored"})
 public class Config {
     public final transient HashMap<String, BasicOption> optionNames = new HashMap<>();
     protected final transient String configFile;
-    protected final transient Gson gson = addGsonOptions(new GsonBuilder()
-            .setExclusionStrategies(new ProfileExclusionStrategy()))
-            .create();
-    protected final transient Gson nonProfileSpecificGson = addGsonOptions(new GsonBuilder()
-            .setExclusionStrategies(new NonProfileSpecificExclusionStrategy()))
-            .create();
+    protected final transient Gson gson = createGson(new ProfileExclusionStrategy());
+    protected final transient Gson nonProfileSpecificGson = createGson(new NonProfileSpecificExclusionStrategy());
     public final transient Mod mod;
     public boolean enabled;
     public final boolean canToggle;
@@ -124,6 +122,7 @@ public class Config {
 
         boolean migrate = false;
         File profileFile = ConfigUtils.getProfileFile(configFile);
+        ConfigCore.prefetchConfigs();
         if (profileFile.exists()) load();
         if (!profileFile.exists()) {
             if (mod.migrator != null) migrate = true;
@@ -144,12 +143,35 @@ public class Config {
         logger.trace("Reinitializing config for {}...", mod.name);
 
         File profileFile = ConfigUtils.getProfileFile(configFile);
-        if (profileFile.exists()) load();
+        if (profileFile.exists()) {
+            Map<BasicOption, Object> previousValues = getOptionValues();
+            load();
+            for (Map.Entry<BasicOption, Object> entry : previousValues.entrySet()) {
+                BasicOption option = entry.getKey();
+                try {
+                    if (!Objects.equals(entry.getValue(), option.get())) option.valueChanged();
+                } catch (Exception e) {
+                    logger.error("Failed to notify listeners of option {}", option.name, e);
+                }
+            }
+        }
         if (!profileFile.exists()) {
             save();
         }
     }
 
+    private Map<BasicOption, Object> getOptionValues() {
+        Map<BasicOption, Object> values = new IdentityHashMap<>();
+        for (BasicOption option : optionNames.values()) {
+            if (option == null || option.getField() == null) continue;
+            try {
+                values.put(option, option.get());
+            } catch (IllegalAccessException ignored) {
+            }
+        }
+        return values;
+    }
+
     /**
      * Save current config to file
      */
@@ -168,18 +190,29 @@ public class Config {
             logger.error("Failed to create directories for config file", e);
         }
 
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(profilePath), StandardCharsets.UTF_8))) {
-            writer.write(gson.toJson(this));
+        try {
+            ConfigFiles.write(profilePath, gson, this);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(nonProfileSpecificPath), StandardCharsets.UTF_8))) {
-            writer.write(nonProfileSpecificGson.toJson(this));
+        try {
+            ConfigFiles.write(nonProfileSpecificPath, nonProfileSpecificGson, this);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Mark this config as changed, so that it is saved shortly after on a background thread.
+     * Options changed through the GUI do this automatically, call this (or {@link #save()}) if you change a value from
+     * code. Otherwise, the change is only written when the game closes or the profile is switched.
+     */
+    public void markDirty() {
+        // the values may have changed without going through their options
+        ConfigCore.invalidateOptionStates();
+        ConfigCore.markDirty(this);
+    }
+
     /**
      * Load file and overwrite current values
      */
@@ -191,20 +224,21 @@ public class Config {
 
         logger.trace("Loading from:\n\t{}\n\t{}", profilePath, nonProfileSpecificPath);
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(profilePath), StandardCharsets.UTF_8))) {
-            gson.fromJson(reader, this.getClass());
+        try {
+            ConfigFiles.read(profilePath, gson, this.getClass());
         } catch (Exception e) {
             e.printStackTrace();
             File file = ConfigUtils.getProfileFile(configFile);
             file.renameTo(new File(file.getParentFile(), file.getName() + ".corrupted"));
         }
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(nonProfileSpecificPath), StandardCharsets.UTF_8))) {
-            nonProfileSpecificGson.fromJson(reader, this.getClass());
+        try {
+            ConfigFiles.read(nonProfileSpecificPath, nonProfileSpecificGson, this.getClass());
         } catch (Exception e) {
             e.printStackTrace();
             File file = ConfigUtils.getNonProfileSpecificFile(configFile);
             file.renameTo(new File(file.getParentFile(), file.getName() + ".corrupted"));
         }
+        ConfigCore.invalidateOptionStates();
     }
 
     /**
@@ -244,10 +278,12 @@ public class Config {
             String optionName = pagePath + field.getName();
             if (option != null) {
                 BasicOption configOption = ConfigUtils.addOptionToPage(page, option, field, instance, migrate ? mod.migrator : null);
+                if (configOption != null) configOption.addListener(() -> ConfigCore.markDirty(this));
                 optionNames.put(optionName, configOption);
             } else if (customOption != null) {
                 BasicOption configOption = getCustomOption(field, customOption, page, mod, migrate);
                 if (configOption == null) continue;
+                configOption.addListener(() -> ConfigCore.markDirty(this));
                 optionNames.put(optionName, configOption);
             } else if (field.isAnnotationPresent(Page.class)) {
                 Page optionPage = field.getAnnotation(Page.class);
@@ -287,6 +323,7 @@ public class Config {
             }
             ConfigCore.subMods.put(this.mod, subMods);
         }
+        SearchIndex.addPage(page);
 
         logger.trace("Finished generating option list for {} (targetting={})", mod.name, targetClass.getName());
     }
@@ -305,6 +342,14 @@ public class Config {
         return null;
     }
 
+    private Gson createGson(ExclusionStrategy strategy) {
+        // registered first, so that adapters registered in addGsonOptions take precedence over it
+        return addGsonOptions(new GsonBuilder()
+                .setExclusionStrategies(strategy)
+                .registerTypeAdapterFactory(new ConfigTypeAdapterFactory(this, strategy)))
+                .create();
+    }
+
     protected GsonBuilder addGsonOptions(GsonBuilder builder) {
         return builder
                 .registerTypeAdapter(this.getClass(), new InstanceSupplier<>(this))
@@ -354,7 +399,7 @@ public class Config {
     protected final void addDependency(String option, String dependentOption) {
         if (!optionNames.containsKey(option) || !optionNames.containsKey(dependentOption)) return;
         BasicOption optionObj = optionNames.get(dependentOption);
-        optionNames.get(option).addDependency(optionObj.name, () -> {
+        optionNames.get(option).addDependency(optionObj, optionObj.name, () -> {
             try {
                 return (boolean) optionObj.get();
             } catch (IllegalAccessException ignored) {
@@ -395,9 +440,10 @@ public class Config {
      */
     protected final void hideIf(String option, String dependentOption) {
         if (!optionNames.containsKey(option) || !optionNames.containsKey(dependentOption)) return;
-        optionNames.get(option).addHideCondition(() -> {
+        BasicOption optionObj = optionNames.get(dependentOption);
+        optionNames.get(option).addHideCondition(optionObj, () -> {
             try {
-                return (boolean) optionNames.get(dependentOption).get();
+                return (boolean) optionObj.get();
             } catch (IllegalAccessException ignored) {
                 return true;
             }
@@ -35,6 +35,7 @@ import cc.polyfrost.oneconfig.config.elements.OptionSubcategory;
 import cc.polyfrost.oneconfig.config.migration.Migrator;
 import cc.polyfrost.oneconfig.gui.elements.config.*;
 import cc.polyfrost.oneconfig.internal.config.annotations.Option;
+import cc.polyfrost.oneconfig.internal.config.core.FieldAccessor;
 import cc.polyfrost.oneconfig.internal.config.profiles.Profiles;
 import com.google.gson.FieldAttributes;
 import org.jetbrains.annotations.Nullable;
@@ -186,8 +187,7 @@ public class ConfigUtils {
 
     public static Object getField(Field field, Object parent) {
         try {
-            field.setAccessible(true);
-            return field.get(parent);
+            return FieldAccessor.of(field).get(parent);
         } catch (Exception ignored) {
             return null;
         }
@@ -195,8 +195,7 @@ public class ConfigUtils {
 
     public static void setField(Field field, Object value, Object parent) {
         try {
-            field.setAccessible(true);
-            field.set(parent, value);
+            FieldAccessor.of(field).set(parent, value);
         } catch (Exception ignored) {
         }
     }
@@ -27,16 +27,20 @@
 
 package cc.polyfrost.oneconfig.config.core;
 
+import cc.polyfrost.oneconfig.internal.config.core.KeyBindHandler;
 import cc.polyfrost.oneconfig.libs.universal.UKeyboard;
 import cc.polyfrost.oneconfig.platform.Platform;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class OneKeyBind {
 
     protected final ArrayList<Integer> keyBinds = new ArrayList<>();
     protected transient Runnable runnable;
     protected transient boolean hasRun;
+    private transient int[] keyCodes;
+    private transient List<Integer> keyCodesSource;
 
     /**
      * @param keys  The bound keys
@@ -59,8 +63,9 @@ public class OneKeyBind {
      * @return If the keys are pressed
      */
     public boolean isActive() {
-        if (keyBinds.size() == 0) return false;
-        for (int keyBind : keyBinds) {
+        int[] keyCodes = getKeyCodes();
+        if (keyCodes.length == 0) return false;
+        for (int keyBind : keyCodes) {
             if (!UKeyboard.isKeyDown(Platform.getInstance().getMinecraftVersion() >= 11300 && keyBind < 0 ? keyBind + 100 : keyBind)) {
                 hasRun = false;
                 return false;
@@ -104,6 +109,8 @@ public class OneKeyBind {
     public void addKey(int key, boolean mouse) {
         if (keyBinds.contains(key)) return;
         keyBinds.add(mouse ? key - 100 : key);
+        keyCodes = null;
+        KeyBindHandler.INSTANCE.onKeysChanged(this);
     }
 
     /**
@@ -111,6 +118,8 @@ public class OneKeyBind {
      */
     public void clearKeys() {
         keyBinds.clear();
+        keyCodes = null;
+        KeyBindHandler.INSTANCE.onKeysChanged(this);
     }
 
     /**
@@ -128,6 +137,22 @@ public class OneKeyBind {
         this.runnable = runnable;
     }
 
+    /**
+     * @return The keys in the key List, as an array that must not be modified
+     */
+    public int[] getKeyCodes() {
+        // the list can be replaced by gson, or changed through getKeyBinds()
+        if (keyCodes == null || keyCodesSource != keyBinds || keyCodes.length != keyBinds.size()) {
+            int[] codes = new int[keyBinds.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = keyBinds.get(i);
+            }
+            keyCodes = codes;
+            keyCodesSource = keyBinds;
+        }
+        return keyCodes;
+    }
+
     /**
      * @return The keys in the key List
      */
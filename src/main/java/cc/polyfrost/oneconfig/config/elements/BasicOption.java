@@ -30,6 +30,8 @@ import cc.polyfrost.oneconfig.gui.animations.Animation;
 import cc.polyfrost.oneconfig.gui.animations.ColorAnimation;
 import cc.polyfrost.oneconfig.gui.animations.DummyAnimation;
 import cc.polyfrost.oneconfig.internal.assets.Colors;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigCore;
+import cc.polyfrost.oneconfig.internal.config.core.FieldAccessor;
 import cc.polyfrost.oneconfig.internal.utils.DescriptionRenderer;
 import cc.polyfrost.oneconfig.libs.universal.ChatColor;
 import cc.polyfrost.oneconfig.libs.universal.UResolution;
@@ -43,14 +45,17 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
 public abstract class BasicOption {
     public final int size;
     protected final Field field;
+    private final FieldAccessor accessor;
     protected Object parent;
     public final String name;
     public final String description;
@@ -61,6 +66,18 @@ public abstract class BasicOption {
     private final Map<String, Supplier<Boolean>> dependencies = new HashMap<>();
     private final List<Runnable> listeners = new ArrayList<>();
     private final List<Supplier<Boolean>> hideConditions = new ArrayList<>();
+    /*
+     * Conditions registered together with the option they read are only re-evaluated when that option is set
+     * (or ConfigCore invalidates every option state), everything else has to be evaluated on every call.
+     */
+    private final Set<String> trackedDependencies = new HashSet<>();
+    private final List<Supplier<Boolean>> trackedHideConditions = new ArrayList<>();
+    private final List<BasicOption> dependents = new ArrayList<>();
+    private final Set<String> failedDependencies = new HashSet<>();
+    private boolean hiddenByTracked;
+    private boolean stateDirty = true;
+    private int stateVersion;
+    private final boolean hasDescription;
     private Animation descriptionAnimation = new DummyAnimation(0f);
     private float hoverTime = 0f;
 
@@ -80,10 +97,11 @@ public abstract class BasicOption {
         this.parent = parent;
         this.name = name;
         this.description = ChatColor.Companion.stripControlCodes(description);
+        this.hasDescription = !this.description.trim().isEmpty();
         this.category = category;
         this.subcategory = subcategory;
         this.size = size;
-        if (field != null) field.setAccessible(true);
+        this.accessor = field != null ? FieldAccessor.of(field) : null;
     }
 
     /**
@@ -91,20 +109,111 @@ public abstract class BasicOption {
      */
     protected void set(Object object) throws IllegalAccessException {
         if (field == null) return;
-        field.set(parent, object);
+        accessor.set(parent, object);
+        this.triggerListeners();
+    }
+
+    /**
+     * Same as {@link #set(Object)} without boxing, for boolean options.
+     */
+    protected void setBoolean(boolean value) throws IllegalAccessException {
+        if (accessor == null) {
+            set(value);
+            return;
+        }
+        accessor.setBoolean(parent, value);
+        this.triggerListeners();
+    }
+
+    /**
+     * Same as {@link #set(Object)} without boxing, for int options.
+     */
+    protected void setInt(int value) throws IllegalAccessException {
+        if (accessor == null) {
+            set(value);
+            return;
+        }
+        accessor.setInt(parent, value);
+        this.triggerListeners();
+    }
+
+    /**
+     * Same as {@link #set(Object)} without boxing, for float options.
+     */
+    protected void setFloat(float value) throws IllegalAccessException {
+        if (accessor == null) {
+            set(value);
+            return;
+        }
+        accessor.setFloat(parent, value);
         this.triggerListeners();
     }
 
     protected void triggerListeners() {
+        invalidateDependents();
         for (Runnable listener : listeners) listener.run();
     }
 
+    /**
+     * Notify the listeners (and dependent options) of this option that its value was changed without going through
+     * the option, for example by loading another profile.
+     */
+    public void valueChanged() {
+        triggerListeners();
+    }
+
+    private void invalidateDependents() {
+        for (BasicOption dependent : dependents) dependent.stateDirty = true;
+    }
+
+    /**
+     * Re-evaluates the tracked conditions if one of their sources changed since they were last evaluated.
+     */
+    private void updateState() {
+        int version = ConfigCore.getOptionStateVersion();
+        if (!stateDirty && stateVersion == version) return;
+        stateDirty = false;
+        stateVersion = version;
+        failedDependencies.clear();
+        for (String dependency : trackedDependencies) {
+            if (!dependencies.get(dependency).get()) failedDependencies.add(dependency);
+        }
+        hiddenByTracked = false;
+        for (Supplier<Boolean> condition : trackedHideConditions) {
+            if (condition.get()) {
+                hiddenByTracked = true;
+                break;
+            }
+        }
+    }
+
     /**
      * @return value of variable as Java object
      */
     public Object get() throws IllegalAccessException {
         if (field == null) return null;
-        return field.get(parent);
+        return accessor.get(parent);
+    }
+
+    /**
+     * @return value of a boolean option, without boxing
+     */
+    protected boolean getBoolean() throws IllegalAccessException {
+        return accessor != null ? accessor.getBoolean(parent) : (boolean) get();
+    }
+
+    /**
+     * @return value of an int option, without boxing
+     */
+    protected int getInt() throws IllegalAccessException {
+        return accessor != null ? accessor.getInt(parent) : (int) get();
+    }
+
+    /**
+     * @return value of a float option, without boxing
+     */
+    protected float getFloat() throws IllegalAccessException {
+        return accessor != null ? accessor.getFloat(parent) : (float) get();
     }
 
     /**
@@ -143,25 +252,28 @@ public abstract class BasicOption {
     }
 
     public void drawDescription(long vg, int x, int y, InputHandler inputHandler) {
-        if (description.trim().isEmpty() && dependencies.isEmpty()) return;
+        if (!hasDescription && dependencies.isEmpty()) return;
         boolean hovered = inputHandler.isAreaHovered(getNameX(x), y, NanoVGHelper.INSTANCE.getTextWidth(vg, name, 14f, Fonts.MEDIUM), 32f);
         nameColor = nameColorAnimation.getColor(hovered, false);
         if (hovered) hoverTime += GuiUtils.getDeltaTime();
         else hoverTime = 0;
+        // the warning is only ever shown as part of the description
+        if (!hasDescription) return;
 
         @Nullable String warningDescription = null;
         int others = 0;
         List<String> options = new ArrayList<>();
         if (!dependencies.isEmpty()) {
+            updateState();
             for (Map.Entry<String, Supplier<Boolean>> dependency : dependencies.entrySet()) {
                 String name = dependency.getKey();
-                Supplier<Boolean> supplier = dependency.getValue();
                 if (name.startsWith("unknown-")) {
                     others++;
                     continue;
                 }
 
-                if (!supplier.get()) {
+                boolean met = trackedDependencies.contains(name) ? !failedDependencies.contains(name) : dependency.getValue().get();
+                if (!met) {
                     options.add(name);
                 }
             }
@@ -185,9 +297,7 @@ public abstract class BasicOption {
             warningDescription = builder.toString();
         }
 
-        if (!description.trim().isEmpty()) {
-            DescriptionRenderer.drawDescription(vg, x, y, description, warningDescription, () -> descriptionAnimation, (a) -> descriptionAnimation = a, null, shouldDrawDescription(), (UResolution.getWindowWidth() / 2f < inputHandler.mouseX()) ? DescriptionRenderer.DescriptionPosition.RIGHT : DescriptionRenderer.DescriptionPosition.LEFT, inputHandler);
-        }
+        DescriptionRenderer.drawDescription(vg, x, y, description, warningDescription, () -> descriptionAnimation, (a) -> descriptionAnimation = a, null, shouldDrawDescription(), (UResolution.getWindowWidth() / 2f < inputHandler.mouseX()) ? DescriptionRenderer.DescriptionPosition.RIGHT : DescriptionRenderer.DescriptionPosition.LEFT, inputHandler);
     }
 
     /**
@@ -211,13 +321,22 @@ public abstract class BasicOption {
      * @return If the option is enabled, based on the dependencies
      */
     public boolean isEnabled() {
-        for (Supplier<Boolean> dependency : dependencies.values()) {
-            if (!dependency.get()) return false;
+        if (dependencies.isEmpty()) return true;
+        updateState();
+        if (!failedDependencies.isEmpty()) return false;
+        if (trackedDependencies.size() == dependencies.size()) return true;
+        for (Map.Entry<String, Supplier<Boolean>> dependency : dependencies.entrySet()) {
+            if (trackedDependencies.contains(dependency.getKey())) continue;
+            if (!dependency.getValue().get()) return false;
         }
         return true;
     }
 
     public boolean isHidden() {
+        if (!trackedHideConditions.isEmpty()) {
+            updateState();
+            if (hiddenByTracked) return true;
+        }
         for (Supplier<Boolean> condition : hideConditions) {
             if (condition.get()) return true;
         }
@@ -232,6 +351,23 @@ public abstract class BasicOption {
      */
     public void addDependency(String optionName, Supplier<Boolean> supplier) {
         this.dependencies.put(optionName, supplier);
+        this.trackedDependencies.remove(optionName);
+        this.stateDirty = true;
+    }
+
+    /**
+     * Add a condition to this option that only depends on the value of another option.
+     * Unlike {@link #addDependency(String, Supplier)}, the result is cached until the source option is set.
+     *
+     * @param source     The option the condition reads
+     * @param optionName The name of the option that adds this dependency
+     * @param supplier   The dependency
+     */
+    public void addDependency(BasicOption source, String optionName, Supplier<Boolean> supplier) {
+        this.dependencies.put(optionName, supplier);
+        this.trackedDependencies.add(optionName);
+        this.stateDirty = true;
+        source.dependents.add(this);
     }
 
     /**
@@ -263,6 +399,19 @@ public abstract class BasicOption {
         this.hideConditions.add(supplier);
     }
 
+    /**
+     * Hide an option if a condition that only depends on the value of another option is met.
+     * Unlike {@link #addHideCondition(Supplier)}, the result is cached until the source option is set.
+     *
+     * @param source   The option the condition reads
+     * @param supplier The condition
+     */
+    public void addHideCondition(BasicOption source, Supplier<Boolean> supplier) {
+        this.trackedHideConditions.add(supplier);
+        this.stateDirty = true;
+        source.dependents.add(this);
+    }
+
     /**
      * @return The field
      */
@@ -282,6 +431,7 @@ public abstract class BasicOption {
      */
     public void setParent(Object parent) {
         this.parent = parent;
+        invalidateDependents();
     }
 
     public void finishUpAndClose() {
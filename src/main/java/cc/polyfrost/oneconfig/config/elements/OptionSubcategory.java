@@ -29,10 +29,10 @@ package cc.polyfrost.oneconfig.config.elements;
 import cc.polyfrost.oneconfig.gui.OneConfigGui;
 import cc.polyfrost.oneconfig.gui.elements.config.ConfigPageButton;
 import cc.polyfrost.oneconfig.internal.assets.Colors;
+import cc.polyfrost.oneconfig.internal.utils.SearchIndex;
 import cc.polyfrost.oneconfig.renderer.NanoVGHelper;
 import cc.polyfrost.oneconfig.renderer.font.Fonts;
 import cc.polyfrost.oneconfig.utils.InputHandler;
-import cc.polyfrost.oneconfig.utils.SearchUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -56,10 +56,10 @@ public class OptionSubcategory {
         NanoVGHelper nanoVGHelper = NanoVGHelper.INSTANCE;
         String filter = OneConfigGui.INSTANCE == null ? "" : OneConfigGui.INSTANCE.getSearchValue().toLowerCase().trim();
         //todo bugs: "Test Page" in test mod doesn't get filtered nicely
-        boolean shouldNotFilter = filter.equals("") || SearchUtils.isSimilar(category, filter) || SearchUtils.isSimilar(name, filter);
-        filteredOptions = options.stream().filter(option -> !option.isHidden() && (shouldNotFilter || SearchUtils.isSimilar(option.name, filter))).collect(Collectors.toList());
-        List<ConfigPageButton> filteredTop = topButtons.stream().filter(page -> !page.isHidden() && (shouldNotFilter || SearchUtils.isSimilar(page.name, filter) || SearchUtils.isSimilar(page.description, filter))).collect(Collectors.toList());
-        List<ConfigPageButton> filteredBottom = bottomButtons.stream().filter(page -> !page.isHidden() && (shouldNotFilter || SearchUtils.isSimilar(page.name, filter) || SearchUtils.isSimilar(page.description, filter))).collect(Collectors.toList());
+        boolean shouldNotFilter = filter.equals("") || SearchIndex.isSimilar(category, filter) || SearchIndex.isSimilar(name, filter);
+        filteredOptions = options.stream().filter(option -> !option.isHidden() && (shouldNotFilter || SearchIndex.isSimilar(option.name, filter))).collect(Collectors.toList());
+        List<ConfigPageButton> filteredTop = topButtons.stream().filter(page -> !page.isHidden() && (shouldNotFilter || SearchIndex.isSimilar(page.name, filter) || SearchIndex.isSimilar(page.description, filter))).collect(Collectors.toList());
+        List<ConfigPageButton> filteredBottom = bottomButtons.stream().filter(page -> !page.isHidden() && (shouldNotFilter || SearchIndex.isSimilar(page.name, filter) || SearchIndex.isSimilar(page.description, filter))).collect(Collectors.toList());
         if (filteredOptions.size() == 0 && filteredTop.size() == 0 && filteredBottom.size() == 0) return 0;
         int optionY = y;
         if (!name.equals("")) {
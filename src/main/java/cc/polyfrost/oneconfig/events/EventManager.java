@@ -28,14 +28,22 @@ package cc.polyfrost.oneconfig.events;
 
 import cc.polyfrost.oneconfig.config.core.exceptions.InvalidTypeException;
 import cc.polyfrost.oneconfig.libs.eventbus.EventBus;
+import cc.polyfrost.oneconfig.libs.eventbus.Subscribe;
 import cc.polyfrost.oneconfig.libs.eventbus.exception.ExceptionHandler;
 import cc.polyfrost.oneconfig.libs.eventbus.invokers.LMFInvoker;
+import cc.polyfrost.oneconfig.utils.SimpleProfiler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages all events from OneConfig.
@@ -46,15 +54,28 @@ public final class EventManager {
      */
     public static final EventManager INSTANCE = new EventManager();
     private static final Logger LOGGER = LogManager.getLogger("OneConfig/EventManager");
-    private final EventBus eventBus = new EventBus(new LMFInvoker(), new OneConfigExceptionHandler());
+    private final ExceptionHandler exceptionHandler = new OneConfigExceptionHandler();
+    private final EventBus eventBus = new EventBus(new LMFInvoker(), exceptionHandler);
     private final Set<Object> listeners = new HashSet<>();
+    private final Map<Class<?>, Integer> subscriberCounts = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Class<?>, List<Consumer<Object>>>> packetListeners = new ConcurrentHashMap<>();
+    private final ClassValue<SimpleProfiler.Section> postSections = new ClassValue<SimpleProfiler.Section>() {
+        @Override
+        protected SimpleProfiler.Section computeValue(Class<?> type) {
+            return SimpleProfiler.getSection("event/" + type.getSimpleName());
+        }
+    };
+    private volatile boolean eventBusExposed;
 
     /**
      * Returns the {@link EventBus} instance.
+     * Listeners registered directly on it are not tracked by {@link #hasSubscribers(Class)}, so once this has been
+     * called every event type is assumed to have subscribers.
      *
      * @return The {@link EventBus} instance.
      */
     public EventBus getEventBus() {
+        eventBusExposed = true;
         return eventBus;
     }
 
@@ -67,6 +88,7 @@ public final class EventManager {
     public void register(Object object) {
         if (listeners.add(object)) {
             eventBus.register(object);
+            countSubscribers(object, 1);
         } else {
             LOGGER.warn("Attempted to register an already registered listener: " + object);
         }
@@ -79,10 +101,88 @@ public final class EventManager {
      * @see EventBus#unregister(Object)
      */
     public void unregister(Object object) {
-        listeners.remove(object);
+        if (listeners.remove(object)) countSubscribers(object, -1);
         eventBus.unregister(object);
     }
 
+    /**
+     * Registers a listener for a packet event that is only invoked for packets of exactly the given class.
+     * <p>
+     * Unlike a {@link Subscribe} method, the listener is not invoked for any other packet, and packets nobody listens
+     * to do not create an event at all.
+     *
+     * @param eventType   The packet event to listen to, for example {@link cc.polyfrost.oneconfig.events.event.ReceivePacketEvent}.
+     * @param packetClass The class of the packets to listen to.
+     * @param listener    The listener.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void registerPacketListener(Class<E> eventType, Class<?> packetClass, Consumer<? super E> listener) {
+        packetListeners.computeIfAbsent(eventType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(packetClass, type -> new CopyOnWriteArrayList<>())
+                .add((Consumer<Object>) listener);
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #registerPacketListener(Class, Class, Consumer)}.
+     *
+     * @param eventType   The packet event the listener was registered for.
+     * @param packetClass The class of the packets the listener was registered for.
+     * @param listener    The listener.
+     */
+    public void unregisterPacketListener(Class<?> eventType, Class<?> packetClass, Consumer<?> listener) {
+        Map<Class<?>, List<Consumer<Object>>> byPacket = packetListeners.get(eventType);
+        if (byPacket == null) return;
+        List<Consumer<Object>> list = byPacket.get(packetClass);
+        if (list != null && list.remove(listener) && list.isEmpty()) byPacket.remove(packetClass, list);
+    }
+
+    /**
+     * Returns whether any {@link Subscribe} method registered through this manager listens to the given event type.
+     * Can be used to skip creating events nobody will receive.
+     *
+     * @param eventType The event type.
+     * @return Whether the event type has subscribers.
+     */
+    public boolean hasSubscribers(Class<?> eventType) {
+        return eventBusExposed || subscriberCounts.containsKey(eventType);
+    }
+
+    /**
+     * Returns whether a packet event for a packet of the given class would reach any listener, either a
+     * {@link Subscribe} method or a listener registered with {@link #registerPacketListener(Class, Class, Consumer)}.
+     *
+     * @param eventType   The packet event type.
+     * @param packetClass The class of the packet.
+     * @return Whether the event should be posted.
+     */
+    public boolean hasPacketSubscribers(Class<?> eventType, Class<?> packetClass) {
+        if (hasSubscribers(eventType)) return true;
+        Map<Class<?>, List<Consumer<Object>>> byPacket = packetListeners.get(eventType);
+        return byPacket != null && byPacket.containsKey(packetClass);
+    }
+
+    /**
+     * Posts a packet event to the {@link EventBus} and to the listeners registered for the packet's class.
+     *
+     * @param event       The event to post.
+     * @param packetClass The class of the packet the event is for.
+     * @see #registerPacketListener(Class, Class, Consumer)
+     */
+    public void postPacket(Object event, Class<?> packetClass) {
+        if (hasSubscribers(event.getClass())) eventBus.post(event);
+        Map<Class<?>, List<Consumer<Object>>> byPacket = packetListeners.get(event.getClass());
+        if (byPacket == null) return;
+        List<Consumer<Object>> list = byPacket.get(packetClass);
+        if (list == null) return;
+        for (Consumer<Object> listener : list) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                exceptionHandler.handle(e);
+            }
+        }
+    }
+
     /**
      * Posts an event to the {@link EventBus}.
      *
@@ -90,9 +190,23 @@ public final class EventManager {
      * @see EventBus#post(Object)
      */
     public void post(Object event) {
+        SimpleProfiler.Section section = postSections.get(event.getClass());
+        long start = section.start();
         eventBus.post(event);
+        section.stop(start);
     }
 
+    private synchronized void countSubscribers(Object object, int delta) {
+        for (Class<?> clazz = object.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.getParameterCount() != 1 || !method.isAnnotationPresent(Subscribe.class)) continue;
+                subscriberCounts.compute(method.getParameterTypes()[0], (type, count) -> {
+                    int newCount = (count == null ? 0 : count) + delta;
+                    return newCount > 0 ? newCount : null;
+                });
+            }
+        }
+    }
 
     /**
      * Bypass to allow special exceptions to actually crash
@@ -27,6 +27,9 @@
 package cc.polyfrost.oneconfig.events.event;
 
 public class FramebufferRenderEvent {
+    private static final FramebufferRenderEvent START = new FramebufferRenderEvent(Stage.START);
+    private static final FramebufferRenderEvent END = new FramebufferRenderEvent(Stage.END);
+
     /**
      * Whether the tick is starting or ending.
      */
@@ -35,4 +38,14 @@ public class FramebufferRenderEvent {
     public FramebufferRenderEvent(Stage stage) {
         this.stage = stage;
     }
+
+    /**
+     * Returns the shared, immutable event for the given stage, so that posting it every frame does not allocate.
+     *
+     * @param stage Whether the framebuffer render is starting or ending.
+     * @return The shared event.
+     */
+    public static FramebufferRenderEvent of(Stage stage) {
+        return stage == Stage.START ? START : END;
+    }
 }
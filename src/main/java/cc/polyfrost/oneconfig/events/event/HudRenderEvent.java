@@ -30,16 +30,35 @@ import cc.polyfrost.oneconfig.libs.universal.UMatrixStack;
 
 /**
  * Called when external HUDs can be rendered.
+ * <p>
+ * OneConfig posts the same instance for every frame (see {@link #of(UMatrixStack, float)}), so listeners should not
+ * keep a reference to it.
  */
 public class HudRenderEvent {
+    private static final HudRenderEvent INSTANCE = new HudRenderEvent(null, 0f);
+
     /**
      * How much time has elapsed since the last tick, in ticks. Used for animations.
      */
-    public final float deltaTicks;
-    public final UMatrixStack matrices;
+    public float deltaTicks;
+    public UMatrixStack matrices;
 
     public HudRenderEvent(UMatrixStack matrices, float deltaTicks) {
         this.matrices = matrices;
         this.deltaTicks = deltaTicks;
     }
+
+    /**
+     * Returns the shared event, updated to the given matrices and delta ticks. Only to be used on the render thread.
+     *
+     * @param matrices   The matrix stack to render with.
+     * @param deltaTicks How much time has elapsed since the last tick, in ticks.
+     * @return The shared event.
+     */
+    public static HudRenderEvent of(UMatrixStack matrices, float deltaTicks) {
+        HudRenderEvent event = INSTANCE;
+        event.matrices = matrices;
+        event.deltaTicks = deltaTicks;
+        return event;
+    }
 }
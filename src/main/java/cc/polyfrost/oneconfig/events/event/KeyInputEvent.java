@@ -27,4 +27,18 @@
 package cc.polyfrost.oneconfig.events.event;
 
 public class KeyInputEvent {
+    /**
+     * The value of {@link #key} when the key that caused the event is not known.
+     */
+    public static final int UNKNOWN_KEY = Integer.MIN_VALUE;
+
+    public final int key;
+
+    public KeyInputEvent(int key) {
+        this.key = key;
+    }
+
+    public KeyInputEvent() {
+        this(UNKNOWN_KEY);
+    }
 }
@@ -28,8 +28,14 @@ package cc.polyfrost.oneconfig.events.event;
 
 /**
  * Called when a game tick is started / ended, represented by a {@link Stage}
+ * <p>
+ * OneConfig posts the same instance for every frame (see {@link #of(Stage, float)}), so listeners should not keep a
+ * reference to it.
  */
 public class RenderEvent {
+    private static final RenderEvent START = new RenderEvent(Stage.START, 0f);
+    private static final RenderEvent END = new RenderEvent(Stage.END, 0f);
+
     /**
      * Whether the tick is starting or ending.
      */
@@ -38,10 +44,24 @@ public class RenderEvent {
     /**
      * How much time has elapsed since the last tick, in ticks. Used for animations.
      */
-    public final float deltaTicks;
+    public float deltaTicks;
 
     public RenderEvent(Stage stage, float deltaTicks) {
         this.stage = stage;
         this.deltaTicks = deltaTicks;
     }
+
+    /**
+     * Returns the shared event for the given stage, updated to the given delta ticks. Only to be used on the render
+     * thread.
+     *
+     * @param stage      Whether the frame is starting or ending.
+     * @param deltaTicks How much time has elapsed since the last tick, in ticks.
+     * @return The shared event.
+     */
+    public static RenderEvent of(Stage stage, float deltaTicks) {
+        RenderEvent event = stage == Stage.START ? START : END;
+        event.deltaTicks = deltaTicks;
+        return event;
+    }
 }
@@ -30,6 +30,9 @@ package cc.polyfrost.oneconfig.events.event;
  * Called when a game tick is started / ended, represented by a {@link Stage}
  */
 public class TickEvent {
+    private static final TickEvent START = new TickEvent(Stage.START);
+    private static final TickEvent END = new TickEvent(Stage.END);
+
     /**
      * Whether the tick is starting or ending.
      */
@@ -38,4 +41,14 @@ public class TickEvent {
     public TickEvent(Stage stage) {
         this.stage = stage;
     }
+
+    /**
+     * Returns the shared, immutable event for the given stage, so that posting it every tick does not allocate.
+     *
+     * @param stage Whether the tick is starting or ending.
+     * @return The shared event.
+     */
+    public static TickEvent of(Stage stage) {
+        return stage == Stage.START ? START : END;
+    }
 }
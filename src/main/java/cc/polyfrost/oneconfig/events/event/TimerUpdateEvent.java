@@ -27,6 +27,8 @@
 package cc.polyfrost.oneconfig.events.event;
 
 public class TimerUpdateEvent {
+    private static TimerUpdateEvent deltaTicksUpdate;
+    private static TimerUpdateEvent nonDeltaTicksUpdate;
 
     public final boolean updatedDeltaTicks;
 
@@ -36,4 +38,22 @@ public class TimerUpdateEvent {
         this.timer = timer;
         this.updatedDeltaTicks = updatedDeltaTicks;
     }
+
+    /**
+     * Returns a shared, immutable event for the given timer, so that posting it every frame does not allocate.
+     * A new event is only created when the timer changes.
+     *
+     * @param timer             The timer that was updated.
+     * @param updatedDeltaTicks Whether the delta ticks were updated.
+     * @return The shared event.
+     */
+    public static TimerUpdateEvent of(Object timer, boolean updatedDeltaTicks) {
+        TimerUpdateEvent event = updatedDeltaTicks ? deltaTicksUpdate : nonDeltaTicksUpdate;
+        if (event == null || event.timer != timer) {
+            event = new TimerUpdateEvent(timer, updatedDeltaTicks);
+            if (updatedDeltaTicks) deltaTicksUpdate = event;
+            else nonDeltaTicksUpdate = event;
+        }
+        return event;
+    }
 }
\ No newline at end of file
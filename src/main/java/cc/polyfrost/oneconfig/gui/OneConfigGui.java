@@ -48,6 +48,7 @@ import cc.polyfrost.oneconfig.internal.assets.Colors;
 import cc.polyfrost.oneconfig.internal.assets.SVGs;
 import cc.polyfrost.oneconfig.internal.config.OneConfigConfig;
 import cc.polyfrost.oneconfig.internal.config.Preferences;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigCore;
 import cc.polyfrost.oneconfig.internal.renderer.NanoVGHelperImpl;
 import cc.polyfrost.oneconfig.libs.eventbus.Subscribe;
 import cc.polyfrost.oneconfig.libs.universal.UKeyboard;
@@ -59,6 +60,7 @@ import cc.polyfrost.oneconfig.renderer.scissor.Scissor;
 import cc.polyfrost.oneconfig.renderer.scissor.ScissorHelper;
 import cc.polyfrost.oneconfig.utils.InputHandler;
 import cc.polyfrost.oneconfig.utils.MathUtils;
+import cc.polyfrost.oneconfig.utils.SimpleProfiler;
 import cc.polyfrost.oneconfig.utils.color.ColorPalette;
 import cc.polyfrost.oneconfig.utils.gui.GuiUtils;
 import cc.polyfrost.oneconfig.utils.gui.OneUIScreen;
@@ -70,6 +72,7 @@ import java.util.List;
 
 public class OneConfigGui extends OneUIScreen {
     private static final InputHandler DUMMY_HANDLER = new InputHandler();
+    private static final SimpleProfiler.Section PROFILER_SECTION = SimpleProfiler.getSection("gui/OneConfigGui");
     public static OneConfigGui INSTANCE;
 
     private final SideBar sideBar = new SideBar();
@@ -112,6 +115,8 @@ public class OneConfigGui extends OneUIScreen {
     @Override
     public void initScreen(int width, int height) {
         super.initScreen(width, height);
+        // values may have been changed from code while the GUI was closed
+        ConfigCore.invalidateOptionStates();
         if (currentPage == null) {
             currentPage = new ModsPage();
             currentPage.parents.add(currentPage);
@@ -174,6 +179,7 @@ public class OneConfigGui extends OneUIScreen {
 
     @Override
     public void draw(long vg, float partialTicks, InputHandler inputHandler) {
+        final long start = PROFILER_SECTION.start();
         this.isDrawing = true;
 
         final NanoVGHelper nanoVGHelper = NanoVGHelper.INSTANCE;
@@ -320,6 +326,7 @@ public class OneConfigGui extends OneUIScreen {
         GuiNotifications.INSTANCE.draw(vg, x + 224 + ((1280 - 224) / 2), y + 720 + 72, inputHandler);
         nanoVGHelper.resetTransform(vg);
         isDrawing = false;
+        PROFILER_SECTION.stop(start);
     }
 
     @Override
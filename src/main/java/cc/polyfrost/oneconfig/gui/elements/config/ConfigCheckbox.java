@@ -63,7 +63,7 @@ public class ConfigCheckbox extends BasicOption {
         if (!isEnabled()) nanoVGHelper.setAlpha(vg, 0.5f);
         boolean toggled = false;
         try {
-            toggled = (boolean) get();
+            toggled = getBoolean();
             if (animation == null) animation = new EaseInOutQuad(0, 0, 1, !toggled);
         } catch (IllegalAccessException ignored) {
         }
@@ -73,7 +73,7 @@ public class ConfigCheckbox extends BasicOption {
         if (clicked && isEnabled()) {
             toggled = !toggled;
             try {
-                set(toggled);
+                setBoolean(toggled);
             } catch (IllegalAccessException e) {
                 System.err.println("failed to write config value: class=" + this + " fieldWatching=" + field + " valueWrite=" + toggled);
                 e.printStackTrace();
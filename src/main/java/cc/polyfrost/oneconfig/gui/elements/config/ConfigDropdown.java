@@ -116,7 +116,7 @@ public class ConfigDropdown extends BasicOption {
 
         int selected = 0;
         try {
-            selected = (int) get();
+            selected = getInt();
         } catch (IllegalAccessException ignored) {
         }
 
@@ -202,7 +202,7 @@ public class ConfigDropdown extends BasicOption {
                 }
                 if (optionHovered && inputHandler.isClicked(!dragging)) {
                     try {
-                        set(ArraysKt.indexOf(originalOptions, option));
+                        setInt(ArraysKt.indexOf(originalOptions, option));
                     } catch (IllegalAccessException ignored) {
                     }
                     opened = false;
@@ -283,7 +283,7 @@ public class ConfigDropdown extends BasicOption {
 
                 if (optionHovered && inputHandler.isClicked(!dragging)) {
                     try {
-                        set(ArraysKt.indexOf(originalOptions, option));
+                        setInt(ArraysKt.indexOf(originalOptions, option));
                     } catch (IllegalAccessException ignored) {
                     }
                     opened = false;
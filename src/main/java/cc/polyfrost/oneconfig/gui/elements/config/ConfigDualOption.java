@@ -63,7 +63,7 @@ public class ConfigDualOption extends BasicOption {
         final NanoVGHelper nanoVGHelper = NanoVGHelper.INSTANCE;
         boolean toggled = false;
         try {
-            toggled = (boolean) get();
+            toggled = getBoolean();
             if (posAnimation == null) posAnimation = new EaseOutExpo(0, 228, 356, !toggled);
         } catch (IllegalAccessException ignored) {
         }
@@ -83,7 +83,7 @@ public class ConfigDualOption extends BasicOption {
         if ((hoveredLeft && toggled || hoveredRight && !toggled) && inputHandler.isClicked()) {
             toggled = !toggled;
             try {
-                set(toggled);
+                setBoolean(toggled);
             } catch (IllegalAccessException e) {
                 System.err.println("failed to write config value: class=" + this + " fieldWatching=" + field + " valueWrite=" + toggled);
                 e.printStackTrace();
@@ -60,7 +60,7 @@ public class ConfigSlider extends BasicOption implements IFocusable {
     private final float min, max;
     private final int step;
     private final boolean instant;
-    private boolean isFloat = true;
+    private final boolean isFloat;
     private boolean dragging = false;
     private boolean mouseWasDown = false;
     private Animation stepsAnimation;
@@ -81,6 +81,7 @@ public class ConfigSlider extends BasicOption implements IFocusable {
         this.max = max;
         this.step = step;
         this.instant = instant;
+        this.isFloat = field == null || (field.getType() != int.class && field.getType() != Integer.class);
         this.inputField = new NumberInputField(84, 32, 0, min, max, step == 0 ? 1 : step);
         this.stepsAnimation = new DummyAnimation(0);
         this.targetAnimation = new DummyAnimation(0);
@@ -147,11 +148,7 @@ public class ConfigSlider extends BasicOption implements IFocusable {
 
         if (!dragging && !inputField.isToggled()) {
             try {
-                Object object = get();
-                if (object instanceof Integer)
-                    isFloat = false;
-                if (isFloat) value = (float) object;
-                else value = (int) object;
+                value = isFloat ? getFloat() : getInt();
                 xCoordinate = (int) MathUtils.clamp(MathUtils.map(value, min, max, x + 352, x + 864), x + 352, x + 864);
             } catch (IllegalAccessException ignored) {
             }
@@ -208,8 +205,8 @@ public class ConfigSlider extends BasicOption implements IFocusable {
 
     private void setValue(float value) {
         try {
-            if (isFloat) set(value);
-            else set(Math.round(value));
+            if (isFloat) setFloat(value);
+            else setInt(Math.round(value));
         } catch (IllegalAccessException ignored) {
         }
     }
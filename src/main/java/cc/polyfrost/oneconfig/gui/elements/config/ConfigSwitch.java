@@ -61,7 +61,7 @@ public class ConfigSwitch extends BasicOption {
         final NanoVGHelper nanoVGHelper = NanoVGHelper.INSTANCE;
         boolean toggled = false;
         try {
-            toggled = (boolean) get();
+            toggled = getBoolean();
             if (animation == null) {
                 animation = new EaseInOutQuad(0, 0, 1, !toggled);
                 color = new ColorAnimation(toggled ? ColorPalette.PRIMARY : ColorPalette.SECONDARY);
@@ -79,7 +79,7 @@ public class ConfigSwitch extends BasicOption {
         if (inputHandler.isAreaClicked(x, y, 42, 32) && isEnabled()) {
             toggled = !toggled;
             try {
-                set(toggled);
+                setBoolean(toggled);
             } catch (IllegalAccessException e) {
                 System.err.println("failed to write config value: class=" + this + " fieldWatching=" + field + " valueWrite=" + toggled);
                 e.printStackTrace();
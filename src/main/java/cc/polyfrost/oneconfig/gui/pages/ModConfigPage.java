@@ -32,11 +32,11 @@ import cc.polyfrost.oneconfig.config.elements.OptionPage;
 import cc.polyfrost.oneconfig.config.elements.OptionSubcategory;
 import cc.polyfrost.oneconfig.gui.OneConfigGui;
 import cc.polyfrost.oneconfig.gui.elements.BasicButton;
+import cc.polyfrost.oneconfig.internal.utils.SearchIndex;
 import cc.polyfrost.oneconfig.renderer.NanoVGHelper;
 import cc.polyfrost.oneconfig.renderer.font.Fonts;
 import cc.polyfrost.oneconfig.renderer.scissor.ScissorHelper;
 import cc.polyfrost.oneconfig.utils.InputHandler;
-import cc.polyfrost.oneconfig.utils.SearchUtils;
 import cc.polyfrost.oneconfig.utils.color.ColorPalette;
 
 import java.util.ArrayList;
@@ -113,7 +113,7 @@ public class ModConfigPage extends Page {
                 categoryY += 48;
             }
             if (searching) {
-                boolean similar = SearchUtils.isSimilar(button.getText(), OneConfigGui.INSTANCE.getSearchValue());
+                boolean similar = SearchIndex.isSimilar(button.getText(), OneConfigGui.INSTANCE.getSearchValue());
                 boolean selected = button.isToggled();
                 button.setToggled(similar);
                 button.draw(vg, buttonX, y + 16 + returned, inputHandler);
@@ -149,23 +149,28 @@ public class ModConfigPage extends Page {
     }
 
     private final ArrayList<OptionSubcategory> empty = new ArrayList<>();
+    private String lastSearch = null;
+    private List<OptionSubcategory> searchResults = empty;
 
     private List<OptionSubcategory> getSubcategories() {
-        if (OneConfigGui.INSTANCE.getSearchValue().isEmpty()) {
+        String search = OneConfigGui.INSTANCE.getSearchValue();
+        if (search.isEmpty()) {
             if (page.categories.isEmpty()) return empty;
             else return page.categories.get(selectedCategory).subcategories;
         } else {
+            // Only search again when the query changes, not every frame
+            if (search.equals(lastSearch)) return searchResults;
             List<OptionSubcategory> subcategories = new ArrayList<>();
             for (Map.Entry<String, OptionCategory> category : page.categories.entrySet()) {
-                if (SearchUtils.isSimilar(category.getKey(), OneConfigGui.INSTANCE.getSearchValue())) {
+                if (SearchIndex.isSimilar(category.getKey(), search)) {
                     subcategories.addAll(category.getValue().subcategories);
                 } else {
                     for (OptionSubcategory subcategory : category.getValue().subcategories) {
-                        if (SearchUtils.isSimilar(subcategory.getName(), OneConfigGui.INSTANCE.getSearchValue())) {
+                        if (SearchIndex.isSimilar(subcategory.getName(), search)) {
                             subcategories.add(subcategory);
                         } else {
                             for (BasicOption option : subcategory.options) {
-                                if (SearchUtils.isSimilar(option.name, OneConfigGui.INSTANCE.getSearchValue())) {
+                                if (SearchIndex.isSimilar(option.name, search)) {
                                     subcategories.add(subcategory);
                                     break;
                                 }
@@ -174,6 +179,8 @@ public class ModConfigPage extends Page {
                     }
                 }
             }
+            lastSearch = search;
+            searchResults = subcategories;
             return subcategories;
         }
     }
@@ -30,10 +30,10 @@ import cc.polyfrost.oneconfig.config.data.Mod;
 import cc.polyfrost.oneconfig.gui.OneConfigGui;
 import cc.polyfrost.oneconfig.gui.elements.ModCard;
 import cc.polyfrost.oneconfig.internal.assets.Colors;
+import cc.polyfrost.oneconfig.internal.utils.SearchIndex;
 import cc.polyfrost.oneconfig.renderer.NanoVGHelper;
 import cc.polyfrost.oneconfig.renderer.font.Fonts;
 import cc.polyfrost.oneconfig.utils.InputHandler;
-import cc.polyfrost.oneconfig.utils.SearchUtils;
 
 import java.util.ArrayList;
 
@@ -54,7 +54,7 @@ public class SubModsPage extends ModsPage {
         int iY = y + 16;
         ArrayList<ModCard> finalModCards = new ArrayList<>(modCards);
         for (ModCard modCard : finalModCards) {
-            if (filter.isEmpty() || SearchUtils.isSimilar(modCard.getModData().name, filter)) {
+            if (filter.isEmpty() || SearchIndex.isSimilar(modCard.getModData().name, filter)) {
                 if (iY + 135 >= y - scroll && iY <= y + 728 - scroll) modCard.draw(vg, iX, iY, inputHandler);
                 iX += 260;
                 if (iX > x + 796) {
@@ -32,6 +32,7 @@ import cc.polyfrost.oneconfig.config.core.ConfigUtils;
 import cc.polyfrost.oneconfig.config.elements.BasicOption;
 import cc.polyfrost.oneconfig.config.elements.OptionPage;
 import cc.polyfrost.oneconfig.gui.elements.config.*;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigCore;
 import cc.polyfrost.oneconfig.internal.gui.HudGui;
 import cc.polyfrost.oneconfig.internal.hud.HudCore;
 import cc.polyfrost.oneconfig.platform.Platform;
@@ -118,6 +119,7 @@ public class HUDUtils {
                 options.get(options.size() - 1).addDependency("Background or Border", () -> ((BasicHud) hud).background || ((BasicHud) hud).border);
             }
             for (BasicOption option : options) {
+                option.addListener(() -> ConfigCore.markDirty(config));
                 if (option.name.equals("Enabled")) continue;
                 option.addDependency(hudAnnotation.name(), hud::isEnabled);
             }
@@ -37,6 +37,15 @@ import cc.polyfrost.oneconfig.renderer.TextRenderer;
 import java.util.List;
 
 public abstract class SingleTextHud extends TextHud {
+    // Memoized widths, see TextHud
+    private transient String measuredText;
+    private transient boolean measuredBrackets;
+    private transient float measuredScale;
+    private transient int measuredTextType;
+    private transient float openBracketWidth;
+    private transient float textWidth;
+    private transient float measuredWidth;
+
     /**
      * @param enabled      If the hud is enabled
      * @param x            X-coordinate of hud on a 1080p display
@@ -97,13 +106,15 @@ public abstract class SingleTextHud extends TextHud {
     @Override
     public void draw(UMatrixStack matrices, float x, float y, float scale, boolean example) {
         float textX = x;
+        String text = lines.get(0);
+        measure(text, scale);
         if (brackets) {
             drawLine("[", textX, y, bracketsColor, scale);
-            textX += getLineWidth("[", scale);
+            textX += openBracketWidth;
         }
-        drawLine(lines.get(0), textX, y, scale);
+        drawLine(text, textX, y, scale);
         if (brackets) {
-            textX += getLineWidth(lines.get(0), scale);
+            textX += textWidth;
             drawLine("]", textX, y, bracketsColor, scale);
         }
     }
@@ -132,8 +143,30 @@ public abstract class SingleTextHud extends TextHud {
     @Override
     protected float getWidth(float scale, boolean example) {
         if (lines == null || lines.isEmpty()) return 0f;
-        if (!brackets) return getLineWidth(lines.get(0), scale);
-        return getLineWidth("[" + lines.get(0) + "]", scale);
+        measure(lines.get(0), scale);
+        return measuredWidth;
+    }
+
+    @Override
+    protected void invalidateLineWidths() {
+        super.invalidateLineWidths();
+        measuredText = null;
+    }
+
+    private void measure(String text, float scale) {
+        if (text.equals(measuredText) && brackets == measuredBrackets && scale == measuredScale && textType == measuredTextType) return;
+        measuredText = text;
+        measuredBrackets = brackets;
+        measuredScale = scale;
+        measuredTextType = textType;
+        textWidth = getLineWidth(text, scale);
+        if (brackets) {
+            openBracketWidth = getLineWidth("[", scale);
+            measuredWidth = getLineWidth("[" + text + "]", scale);
+        } else {
+            openBracketWidth = 0f;
+            measuredWidth = textWidth;
+        }
     }
 
     @Switch(
@@ -39,7 +39,9 @@ import cc.polyfrost.oneconfig.platform.Platform;
 import cc.polyfrost.oneconfig.renderer.TextRenderer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public abstract class TextHud extends BasicHud {
     protected transient List<String> lines = new ArrayList<>();
@@ -55,6 +57,15 @@ public abstract class TextHud extends BasicHud {
     )
     protected int textType = 0;
 
+    // Line widths are memoized, as getWidth is called every frame but the lines rarely change.
+    // These may be null, as this can run before the field initializers (from the Hud constructor) or be skipped entirely by Gson.
+    private transient String[] measuredLines;
+    private transient float[] measuredLineWidths;
+    private transient int measuredLineCount;
+    private transient float measuredScale;
+    private transient int measuredTextType;
+    private transient float measuredWidth;
+
     public TextHud(boolean enabled, float x, float y, float scale, boolean background, boolean rounded, float cornerRadius, float paddingX, float paddingY, OneColor bgColor, boolean border, float borderSize, OneColor borderColor) {
         super(enabled, x, y, scale, background, rounded, cornerRadius, paddingX, paddingY, bgColor, border, borderSize, borderColor);
         EventManager.INSTANCE.register(new TickHandler());
@@ -108,7 +119,8 @@ public abstract class TextHud extends BasicHud {
     }
 
     /**
-     * Function that can be overwritten to implement different behavior easily
+     * Function that can be overwritten to implement different behavior easily.
+     * The result is memoized until the line, the scale or the text type changes, see {@link #invalidateLineWidths()}.
      *
      * @param line The line
      * @return The width of the line (scaled accordingly)
@@ -125,11 +137,44 @@ public abstract class TextHud extends BasicHud {
     @Override
     protected float getWidth(float scale, boolean example) {
         if (lines == null) return 0;
-        float width = 0;
-        for (String line : lines) {
-            width = Math.max(width, getLineWidth(line, scale));
+        if (scale != measuredScale || textType != measuredTextType) {
+            measuredLineCount = 0;
+            measuredScale = scale;
+            measuredTextType = textType;
+        }
+        int size = lines.size();
+        if (measuredLines == null) {
+            measuredLines = new String[size];
+            measuredLineWidths = new float[size];
+        } else if (measuredLines.length < size) {
+            measuredLines = Arrays.copyOf(measuredLines, size);
+            measuredLineWidths = Arrays.copyOf(measuredLineWidths, size);
+        }
+        boolean dirty = size != measuredLineCount;
+        for (int i = 0; i < size; i++) {
+            String line = lines.get(i);
+            if (i < measuredLineCount && Objects.equals(line, measuredLines[i])) continue;
+            measuredLines[i] = line;
+            measuredLineWidths[i] = getLineWidth(line, scale);
+            dirty = true;
         }
-        return width;
+        if (dirty) {
+            float width = 0;
+            for (int i = 0; i < size; i++) {
+                width = Math.max(width, measuredLineWidths[i]);
+            }
+            measuredLineCount = size;
+            measuredWidth = width;
+        }
+        return measuredWidth;
+    }
+
+    /**
+     * Forces the width of every line to be measured again on the next frame.
+     * Call this if {@link #getLineWidth(String, float)} depends on anything other than the line, the scale and the text type.
+     */
+    protected void invalidateLineWidths() {
+        measuredLineCount = 0;
     }
 
     @Override
@@ -30,10 +30,17 @@ import cc.polyfrost.oneconfig.gui.OneConfigGui;
 import cc.polyfrost.oneconfig.internal.config.OneConfigConfig;
 import cc.polyfrost.oneconfig.internal.config.profiles.Profiles;
 import cc.polyfrost.oneconfig.internal.gui.HudGui;
+import cc.polyfrost.oneconfig.internal.renderer.NanoVGStats;
 import cc.polyfrost.oneconfig.libs.universal.ChatColor;
 import cc.polyfrost.oneconfig.libs.universal.UChat;
+import cc.polyfrost.oneconfig.utils.SimpleProfiler;
 import cc.polyfrost.oneconfig.utils.commands.annotations.*;
 import cc.polyfrost.oneconfig.utils.gui.GuiUtils;
+import org.apache.logging.log4j.Level;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * The main OneConfig command.
@@ -56,6 +63,50 @@ public class OneConfigCommand {
         OneConfigGui.INSTANCE = null;
     }
 
+    @SubCommand(description = "Prints OneConfig renderer statistics.")
+    private void stats() {
+        UChat.chat(ChatColor.GOLD + "Reused NanoVG structs: " + ChatColor.GREEN + NanoVGStats.getReusedStructs());
+        UChat.chat(ChatColor.GOLD + "Asset cache: " + ChatColor.GREEN + NanoVGStats.getAssetHits() + " hits" + ChatColor.GOLD + ", "
+                + ChatColor.YELLOW + NanoVGStats.getAssetMisses() + " misses" + ChatColor.GOLD + ", " + ChatColor.RED + NanoVGStats.getAssetEvictions() + " evictions");
+    }
+
+    @SubCommandGroup(value = "Profiler")
+    private static class Profiler {
+        @SubCommand(description = "Start or stop recording render and event timings.")
+        private void toggle() {
+            SimpleProfiler.setSampling(!SimpleProfiler.isSampling());
+            if (SimpleProfiler.isSampling()) UChat.chat(ChatColor.GREEN + "Started the OneConfig profiler.");
+            else UChat.chat(ChatColor.RED + "Stopped the OneConfig profiler.");
+        }
+
+        @SubCommand(description = "Prints the slowest profiled sections and writes all of them to the log.")
+        private void dump() {
+            List<SimpleProfiler.Section> sections = new ArrayList<>();
+            for (SimpleProfiler.Section section : SimpleProfiler.getSections()) {
+                if (section.getSampleCount() > 0) sections.add(section);
+            }
+            if (sections.isEmpty()) {
+                UChat.chat(ChatColor.RED + "Nothing has been profiled yet. Use /oneconfig profiler toggle to start.");
+                return;
+            }
+            sections.sort(Comparator.comparingLong((SimpleProfiler.Section section) -> section.getPercentile(0.99)).reversed());
+            StringBuilder builder = new StringBuilder()
+                    .append(ChatColor.GOLD).append("Slowest sections (p50 / p99):");
+            for (SimpleProfiler.Section section : sections.subList(0, Math.min(10, sections.size()))) {
+                builder.append("\n").append(ChatColor.YELLOW).append(section.getName()).append(ChatColor.GRAY).append(": ")
+                        .append(ChatColor.GREEN).append(String.format("%.3fms / %.3fms", section.getPercentile(0.5) / 1000000f, section.getPercentile(0.99) / 1000000f));
+            }
+            UChat.chat(builder.toString());
+            SimpleProfiler.dump(Level.INFO);
+        }
+
+        @SubCommand(description = "Clears all recorded timings.")
+        private void reset() {
+            SimpleProfiler.reset();
+            UChat.chat(ChatColor.GREEN + "Cleared the OneConfig profiler.");
+        }
+    }
+
     @SubCommandGroup(value = "Profile", aliases = {"profiles"})
     private static class Profile {
         @SubCommand(description = "View all profiles", aliases = {"view"})
@@ -69,6 +120,10 @@ public class OneConfigCommand {
                 builder.append(profile);
             }
             UChat.chat(builder.toString());
+            // the player is likely to switch to one of them next
+            for (String profile : Profiles.getProfiles()) {
+                if (!OneConfigConfig.currentProfile.equals(profile)) Profiles.prefetchProfile(profile);
+            }
         }
 
         @SubCommand(description = "Switch to a Profile", aliases = {"enable", "set", "load", "switch"})
@@ -29,22 +29,20 @@ package cc.polyfrost.oneconfig.internal.config;
 import cc.polyfrost.oneconfig.config.Config;
 import cc.polyfrost.oneconfig.config.data.Mod;
 import cc.polyfrost.oneconfig.config.gson.exclusion.ProfileExclusionStrategy;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigFiles;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigTypeAdapterFactory;
 import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public abstract class InternalConfig extends Config {
+    private static final InternalConfigExclusionStrategy EXCLUSION_STRATEGY = new InternalConfigExclusionStrategy();
     transient protected final Gson gson = addGsonOptions(new GsonBuilder()
-            .setExclusionStrategies(new InternalConfigExclusionStrategy()))
+            .setExclusionStrategies(EXCLUSION_STRATEGY)
+            .registerTypeAdapterFactory(new ConfigTypeAdapterFactory(this, EXCLUSION_STRATEGY)))
             .create();
 
     /**
@@ -65,8 +63,8 @@ public abstract class InternalConfig extends Config {
 
     @Override
     public void save() {
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Paths.get("OneConfig/" + configFile)), StandardCharsets.UTF_8))) {
-            writer.write(gson.toJson(this));
+        try {
+            ConfigFiles.write(Paths.get("OneConfig/" + configFile), gson, this);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -75,8 +73,8 @@ public abstract class InternalConfig extends Config {
     @Override
     public void load() {
         Path path = Paths.get("OneConfig/" + configFile);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
-            gson.fromJson(reader, this.getClass());
+        try {
+            ConfigFiles.read(path, gson, this.getClass());
         } catch (Exception e) {
             e.printStackTrace();
             File file = path.toFile();
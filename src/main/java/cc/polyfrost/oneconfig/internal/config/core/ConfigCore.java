@@ -26,30 +26,103 @@
 
 package cc.polyfrost.oneconfig.internal.config.core;
 
+import cc.polyfrost.oneconfig.config.Config;
 import cc.polyfrost.oneconfig.config.data.Mod;
 import cc.polyfrost.oneconfig.config.data.ModType;
 import cc.polyfrost.oneconfig.internal.config.OneConfigConfig;
 import cc.polyfrost.oneconfig.internal.config.SubMainConfig;
+import cc.polyfrost.oneconfig.internal.config.profiles.Profiles;
 import cc.polyfrost.oneconfig.internal.hud.HudCore;
+import cc.polyfrost.oneconfig.internal.utils.SearchIndex;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class ConfigCore {
     public static List<Mod> mods = new ArrayList<>();
     public static HashMap<Mod, List<Mod>> subMods = new HashMap<>();
+    /**
+     * How long to wait after a config changes before writing it, so that bursts of changes (like dragging a slider) are coalesced into one write.
+     */
+    private static final long SAVE_DELAY_SECONDS = 5;
+    private static final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("OneConfig Config Saver").setDaemon(true).build()
+    );
+    private static final Set<Config> dirtyConfigs = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean saveScheduled = new AtomicBoolean(false);
+    private static final AtomicBoolean prefetchStarted = new AtomicBoolean(false);
+    /**
+     * Bumped whenever option values may have changed without going through their option, so that cached
+     * enabled/hidden states are re-evaluated.
+     */
+    private static volatile int optionStateVersion;
 
+    /**
+     * Save every config, regardless of whether it changed.
+     */
     public static void saveAll() {
         for (Mod modData : mods) {
+            // a change marked after this still gets its own save
+            dirtyConfigs.remove(modData.config);
             modData.config.save();
         }
     }
 
+    /**
+     * Mark a config as changed, so that it is saved on the config saver thread shortly after. Used by option listeners,
+     * the option already re-evaluates its dependents, see {@link Config#markDirty()} for changes made from code.
+     *
+     * @param config The config that changed
+     */
+    public static void markDirty(Config config) {
+        dirtyConfigs.add(config);
+        if (saveScheduled.compareAndSet(false, true)) {
+            saveExecutor.schedule(ConfigCore::saveDirty, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Start reading the config files of the current profile in the background, the first time a config is initialized.
+     */
+    public static void prefetchConfigs() {
+        if (!prefetchStarted.compareAndSet(false, true)) return;
+        ConfigFiles.prefetch(Profiles.getProfileDir().toPath(), Profiles.nonProfileSpecificDir.toPath());
+    }
+
+    public static int getOptionStateVersion() {
+        return optionStateVersion;
+    }
+
+    /**
+     * Make every option re-evaluate its dependencies and hide conditions the next time they are queried.
+     */
+    public static void invalidateOptionStates() {
+        optionStateVersion++;
+    }
+
+    private static void saveDirty() {
+        saveScheduled.set(false);
+        for (Config config : dirtyConfigs) {
+            dirtyConfigs.remove(config);
+            try {
+                config.save();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     public static void reInitAll() {
         for (Mod modData : mods) {
             if (!modData.config.supportsProfiles()) continue;
@@ -68,6 +141,9 @@ public class ConfigCore {
         ConfigCore.mods.addAll(mods.stream().filter(mod -> mod.modType != ModType.THIRD_PARTY).sorted().collect(Collectors.toList()));
         mods.removeAll(ConfigCore.mods);
         ConfigCore.mods.addAll(mods.stream().sorted().collect(Collectors.toList()));
+        for (Mod mod : ConfigCore.mods) {
+            SearchIndex.add(mod.name);
+        }
         OneConfigConfig.getInstance().save();
     }
 
@@ -77,14 +153,4 @@ public class ConfigCore {
         }
         return null;
     }
-
-    static {
-        Executors.newSingleThreadScheduledExecutor()
-                .scheduleAtFixedRate(
-                        ConfigCore::saveAll,
-                        0,
-                        30,
-                        TimeUnit.SECONDS
-                );
-    }
 }
@@ -0,0 +1,307 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.config.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes config files.
+ * <p>
+ * Writes are serialized in memory, written into a temporary file next to the target, flushed to disk and then moved
+ * over the target, so a crash mid-save never leaves a truncated config behind. The hash of the last contents read
+ * from or written to every path is remembered, and a write whose serialized contents match it does not touch the
+ * disk at all.
+ * <p>
+ * The contents of recently read or written files are also kept in memory (as long as the file on disk has the same
+ * modification time, size and file key, so a file replaced by another one is read again),
+ * so that switching back and forth between profiles does not read every config file again. Whole directories can
+ * be {@link #prefetch(Path...) prefetched} into that cache in parallel, at startup or before switching profiles.
+ */
+public final class ConfigFiles {
+    private static final Map<Path, byte[]> persistedHashes = new ConcurrentHashMap<>();
+    /**
+     * Prefetching is only an optimization, skip anything big enough to not be a config file.
+     */
+    private static final long MAX_PREFETCH_SIZE = 1024 * 1024;
+    private static final int MAX_PREFETCH_DEPTH = 2;
+    private static final long MAX_SNAPSHOT_BYTES = 16 * 1024 * 1024;
+    private static final Map<Path, Snapshot> snapshots = new LinkedHashMap<>(64, 0.75f, true);
+    private static long snapshotBytes;
+    private static final Map<Path, Future<?>> prefetching = new ConcurrentHashMap<>();
+    /**
+     * Shared by every prefetch. Its threads exit once they have been idle for a few seconds.
+     */
+    private static final ThreadPoolExecutor prefetchExecutor = createPrefetchExecutor();
+
+    private ConfigFiles() {
+    }
+
+    /**
+     * Deserialize the file at the given path into the given type, remembering the hash of its contents.
+     *
+     * @param path the file to read
+     * @param gson the gson instance to deserialize with
+     * @param type the type to deserialize
+     * @return the deserialized object
+     */
+    public static <T> T read(Path path, Gson gson, Class<T> type) throws IOException {
+        Path key = key(path);
+        awaitPrefetch(key);
+        byte[] bytes = getSnapshot(key);
+        if (bytes == null) bytes = readSnapshot(key);
+        T result;
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            result = gson.fromJson(reader, type);
+        }
+        persistedHashes.put(key, newDigest().digest(bytes));
+        return result;
+    }
+
+    /**
+     * Serialize the given object to the file at the given path, unless the file already holds exactly that.
+     *
+     * @param path the file to write
+     * @param gson the gson instance to serialize with
+     * @param src  the object to serialize
+     * @return whether the file was written
+     */
+    public static synchronized boolean write(Path path, Gson gson, Object src) throws IOException {
+        Path key = key(path);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            gson.toJson(src, writer);
+        }
+        byte[] bytes = out.toByteArray();
+        byte[] hash = newDigest().digest(bytes);
+        if (Arrays.equals(hash, persistedHashes.get(key)) && Files.exists(path)) return false;
+
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        persistedHashes.put(key, hash);
+        putSnapshot(key, bytes);
+        return true;
+    }
+
+    /**
+     * Start reading every config file in the given directories on a small background pool.
+     * {@link #read(Path, Gson, Class)} picks the contents up instead of reading the file again.
+     *
+     * @param directories the directories to prefetch, missing ones are ignored
+     */
+    public static synchronized void prefetch(Path... directories) {
+        for (Path directory : directories) {
+            if (!Files.isDirectory(directory)) continue;
+            try (Stream<Path> files = Files.walk(directory, MAX_PREFETCH_DEPTH)) {
+                files.filter(file -> file.getFileName().toString().endsWith(".json")).forEach(file -> {
+                    try {
+                        if (!Files.isRegularFile(file) || Files.size(file) > MAX_PREFETCH_SIZE) return;
+                    } catch (IOException e) {
+                        return;
+                    }
+                    Path key = key(file);
+                    if (getSnapshot(key) != null) return;
+                    prefetching.computeIfAbsent(key, k -> prefetchExecutor.submit(() -> {
+                        readSnapshot(k);
+                        return null;
+                    }));
+                });
+            } catch (IOException | RuntimeException e) {
+                // prefetching is only an optimization, read() falls back to reading the file itself
+            }
+        }
+    }
+
+    /**
+     * Cancel the prefetches that haven't run yet.
+     */
+    public static synchronized void discardPrefetched() {
+        for (Future<?> future : prefetching.values()) future.cancel(false);
+        prefetching.clear();
+        prefetchExecutor.purge();
+    }
+
+    /**
+     * Forget everything known about the files in a directory, for when it is moved or deleted.
+     */
+    public static void forget(Path directory) {
+        Path prefix = key(directory);
+        persistedHashes.keySet().removeIf(path -> path.startsWith(prefix));
+        synchronized (snapshots) {
+            Iterator<Map.Entry<Path, Snapshot>> iterator = snapshots.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, Snapshot> entry = iterator.next();
+                if (!entry.getKey().startsWith(prefix)) continue;
+                snapshotBytes -= entry.getValue().bytes.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void awaitPrefetch(Path key) {
+        Future<?> future = prefetching.remove(key);
+        if (future == null) return;
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException ignored) {
+            // read the file directly, so that the caller gets the actual error
+        }
+    }
+
+    /**
+     * @return the remembered contents of the file, if it has not changed on disk since
+     */
+    private static byte[] getSnapshot(Path key) {
+        Snapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.get(key);
+        }
+        if (snapshot == null) return null;
+        try {
+            if (snapshot.matches(Files.readAttributes(key, BasicFileAttributes.class))) return snapshot.bytes;
+        } catch (IOException ignored) {
+        }
+        return null;
+    }
+
+    private static byte[] readSnapshot(Path key) throws IOException {
+        // read before the contents, so that a change while reading invalidates the snapshot instead of being missed
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        byte[] bytes = Files.readAllBytes(key);
+        putSnapshot(key, bytes, attributes);
+        return bytes;
+    }
+
+    private static void putSnapshot(Path key, byte[] bytes) {
+        try {
+            putSnapshot(key, bytes, Files.readAttributes(key, BasicFileAttributes.class));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void putSnapshot(Path key, byte[] bytes, BasicFileAttributes attributes) {
+        if (bytes.length > MAX_PREFETCH_SIZE) return;
+        synchronized (snapshots) {
+            Snapshot previous = snapshots.put(key, new Snapshot(bytes, attributes));
+            if (previous != null) snapshotBytes -= previous.bytes.length;
+            snapshotBytes += bytes.length;
+            Iterator<Snapshot> eldest = snapshots.values().iterator();
+            while (snapshotBytes > MAX_SNAPSHOT_BYTES && eldest.hasNext()) {
+                snapshotBytes -= eldest.next().bytes.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor createPrefetchExecutor() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("OneConfig Config Loader %d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final byte[] bytes;
+        private final FileTime modified;
+        /**
+         * Identifies the file itself (the inode on most systems), so that a file moved over this one is noticed even
+         * if it has the same size and modification time. Null where the file system does not provide one.
+         */
+        private final Object fileKey;
+
+        private Snapshot(byte[] bytes, BasicFileAttributes attributes) {
+            this.bytes = bytes;
+            this.modified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return attributes.size() == bytes.length && attributes.lastModifiedTime().equals(modified)
+                    && Objects.equals(attributes.fileKey(), fileKey);
+        }
+    }
+}
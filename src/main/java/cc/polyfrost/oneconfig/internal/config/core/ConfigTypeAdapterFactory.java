@@ -0,0 +1,245 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.config.core;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming replacement for Gson's reflective adapter, for the class of a single config instance.
+ * <p>
+ * The fields that the config's exclusion strategy keeps are resolved once, along with their {@link FieldAccessor}
+ * and value adapter. Reading fills the config instance itself (like {@link cc.polyfrost.oneconfig.config.gson.InstanceSupplier}
+ * did), and the JSON produced is the same as the reflective adapter's. Values of the fields (pages, HUDs, colors...)
+ * are still handled by the adapters registered on the Gson instance.
+ * <p>
+ * This factory has to be registered before {@link cc.polyfrost.oneconfig.config.Config#addGsonOptions} runs, so that
+ * adapters registered there take precedence. The field list is checked against what Gson's own reflective adapter
+ * writes for the instance, and that adapter is used instead whenever they differ (other naming policies, excluded
+ * modifiers, generic config classes...).
+ */
+public final class ConfigTypeAdapterFactory implements TypeAdapterFactory {
+    private final Object instance;
+    private final ExclusionStrategy strategy;
+
+    /**
+     * @param instance the config to read into and write from
+     * @param strategy the exclusion strategy the Gson instance is created with
+     */
+    public ConfigTypeAdapterFactory(Object instance, ExclusionStrategy strategy) {
+        this.instance = instance;
+        this.strategy = strategy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != instance.getClass()) return null;
+        TypeAdapter<T> reflective = gson.getDelegateAdapter(this, type);
+        List<BoundField> fields = getBoundFields(gson, type.getRawType());
+        if (fields == null || !matches(fields, reflective.toJsonTree((T) instance))) return reflective;
+        return (TypeAdapter<T>) new Adapter(fields);
+    }
+
+    /**
+     * @return the fields in the order Gson's reflective adapter writes them, or null if the class or one of its
+     * superclasses is generic
+     */
+    private List<BoundField> getBoundFields(Gson gson, Class<?> raw) {
+        List<BoundField> fields = new ArrayList<>();
+        Map<String, BoundField> names = new HashMap<>();
+        TypeAdapter<?> reflectiveAdapter = gson.getAdapter(ReflectiveProbe.class);
+        for (; raw != Object.class; raw = raw.getSuperclass()) {
+            if (raw.getTypeParameters().length != 0) return null;
+            for (Field field : raw.getDeclaredFields()) {
+                if (isExcluded(field)) continue;
+                BoundField boundField = new BoundField(gson, getName(field), field, reflectiveAdapter);
+                BoundField previous = names.put(boundField.name, boundField);
+                if (previous != null) {
+                    throw new IllegalArgumentException(instance.getClass() + " declares multiple JSON fields named " + previous.name);
+                }
+                fields.add(boundField);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Whether the non-null fields of the instance are exactly the members, in the same order, that the reflective
+     * adapter of the built Gson writes.
+     */
+    private boolean matches(List<BoundField> fields, JsonElement tree) {
+        if (!tree.isJsonObject()) return false;
+        Iterator<Map.Entry<String, JsonElement>> written = tree.getAsJsonObject().entrySet().iterator();
+        try {
+            for (BoundField field : fields) {
+                if (field.accessor.get(instance) == null) continue;
+                if (!written.hasNext() || !written.next().getKey().equals(field.name)) return false;
+            }
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+        return !written.hasNext();
+    }
+
+    /**
+     * Candidate fields, using Gson's default rules with the options {@link cc.polyfrost.oneconfig.config.Config#addGsonOptions}
+     * sets. {@link #matches} checks the result against the built Gson.
+     */
+    private boolean isExcluded(Field field) {
+        if (Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) return true;
+        Class<?> type = field.getType();
+        if (!Enum.class.isAssignableFrom(type) && (type.isAnonymousClass() || type.isLocalClass())) return true;
+        return strategy.shouldSkipClass(type) || strategy.shouldSkipField(new FieldAttributes(field));
+    }
+
+    private static String getName(Field field) {
+        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        return serializedName == null ? field.getName() : serializedName.value();
+    }
+
+    /**
+     * Plain class without registered adapters, to find out the class of Gson's reflective adapter.
+     */
+    private static final class ReflectiveProbe {
+    }
+
+    private static final class BoundField {
+        private final Gson gson;
+        private final String name;
+        private final FieldAccessor accessor;
+        private final Class<?> type;
+        private final TypeAdapter<Object> adapter;
+        private final Class<?> reflectiveAdapter;
+        /**
+         * The adapter for the last runtime class this field held, as {@code {Class, TypeAdapter}}.
+         */
+        private volatile Object[] runtimeAdapter = new Object[2];
+
+        @SuppressWarnings("unchecked")
+        private BoundField(Gson gson, String name, Field field, TypeAdapter<?> reflectiveAdapter) {
+            this.gson = gson;
+            this.name = name;
+            this.accessor = FieldAccessor.of(field);
+            this.type = field.getType();
+            this.adapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(field.getGenericType()));
+            this.reflectiveAdapter = reflectiveAdapter.getClass();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void write(JsonWriter out, Object parent) throws IOException, IllegalAccessException {
+            Object value = accessor.get(parent);
+            TypeAdapter<Object> adapter = this.adapter;
+            // what Gson's TypeAdapterRuntimeTypeWrapper does, prefer the adapter of the runtime type
+            // (primitives are boxed by the accessor, but their wrapper adapter is the same)
+            if (value != null && !type.isPrimitive() && value.getClass() != type) {
+                Object[] cached = runtimeAdapter;
+                if (cached[0] != value.getClass()) {
+                    TypeAdapter<Object> resolved = (TypeAdapter<Object>) gson.getAdapter(value.getClass());
+                    if (resolved.getClass() == reflectiveAdapter && adapter.getClass() != reflectiveAdapter) {
+                        resolved = adapter;
+                    }
+                    runtimeAdapter = cached = new Object[]{value.getClass(), resolved};
+                }
+                adapter = (TypeAdapter<Object>) cached[1];
+            }
+            out.name(name);
+            adapter.write(out, value);
+        }
+
+        private void read(JsonReader in, Object parent) throws IOException, IllegalAccessException {
+            Object value = adapter.read(in);
+            if (value != null || !type.isPrimitive()) accessor.set(parent, value);
+        }
+    }
+
+    private final class Adapter extends TypeAdapter<Object> {
+        private final List<BoundField> fields;
+        private final Map<String, BoundField> fieldsByName = new HashMap<>();
+
+        private Adapter(List<BoundField> fields) {
+            this.fields = fields;
+            for (BoundField field : fields) fieldsByName.put(field.name, field);
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            try {
+                for (BoundField field : fields) field.write(out, value);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            in.beginObject();
+            try {
+                while (in.hasNext()) {
+                    BoundField field = fieldsByName.get(in.nextName());
+                    if (field == null) in.skipValue();
+                    else field.read(in, instance);
+                }
+            } catch (IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+            in.endObject();
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.config.core;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes a single field through method handles resolved once, instead of going through
+ * {@link Field#get(Object)} and {@link Field#set(Object, Object)} on every access.
+ * <p>
+ * The primitive accessors skip boxing for the boolean, int and float fields most options are backed by.
+ * Anything the handles reject (a wrong parent or value type, a static final field...) is retried through
+ * reflection, so callers see exactly the exceptions they would have seen before.
+ */
+public final class FieldAccessor {
+    private static final Map<Field, FieldAccessor> accessors = new ConcurrentHashMap<>();
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    @Nullable
+    private final MethodHandle getter, setter;
+    @Nullable
+    private final MethodHandle booleanGetter, intGetter, floatGetter;
+    @Nullable
+    private final MethodHandle booleanSetter, intSetter, floatSetter;
+
+    private FieldAccessor(Field field) {
+        this.field = field;
+        field.setAccessible(true);
+        MethodHandle get = null, set = null;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            get = lookup.unreflectGetter(field);
+        } catch (IllegalAccessException ignored) {
+        }
+        try {
+            set = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException ignored) {
+            // static final fields can't be written; Field#set will report that when it is attempted
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            if (get != null) get = MethodHandles.dropArguments(get, 0, Object.class);
+            if (set != null) set = MethodHandles.dropArguments(set, 0, Object.class);
+        }
+        this.getter = get == null ? null : get.asType(GETTER);
+        this.setter = set == null ? null : set.asType(SETTER);
+
+        Class<?> type = field.getType();
+        this.booleanGetter = typedGetter(get, type, boolean.class);
+        this.intGetter = typedGetter(get, type, int.class);
+        this.floatGetter = typedGetter(get, type, float.class);
+        this.booleanSetter = typedSetter(set, type, boolean.class);
+        this.intSetter = typedSetter(set, type, int.class);
+        this.floatSetter = typedSetter(set, type, float.class);
+    }
+
+    /**
+     * @return the accessor for the given field, creating it the first time the field is seen
+     */
+    public static FieldAccessor of(Field field) {
+        return accessors.computeIfAbsent(field, FieldAccessor::new);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Object get(Object parent) throws IllegalAccessException {
+        if (getter != null) {
+            try {
+                return (Object) getter.invokeExact(parent);
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        return field.get(parent);
+    }
+
+    public void set(Object parent, Object value) throws IllegalAccessException {
+        if (setter != null) {
+            try {
+                setter.invokeExact(parent, value);
+                return;
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        field.set(parent, value);
+    }
+
+    public boolean getBoolean(Object parent) throws IllegalAccessException {
+        if (booleanGetter != null) {
+            try {
+                return (boolean) booleanGetter.invokeExact(parent);
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        return (boolean) get(parent);
+    }
+
+    public int getInt(Object parent) throws IllegalAccessException {
+        if (intGetter != null) {
+            try {
+                return (int) intGetter.invokeExact(parent);
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        return (int) get(parent);
+    }
+
+    public float getFloat(Object parent) throws IllegalAccessException {
+        if (floatGetter != null) {
+            try {
+                return (float) floatGetter.invokeExact(parent);
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        return (float) get(parent);
+    }
+
+    public void setBoolean(Object parent, boolean value) throws IllegalAccessException {
+        if (booleanSetter != null) {
+            try {
+                booleanSetter.invokeExact(parent, value);
+                return;
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        set(parent, value);
+    }
+
+    public void setInt(Object parent, int value) throws IllegalAccessException {
+        if (intSetter != null) {
+            try {
+                intSetter.invokeExact(parent, value);
+                return;
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        set(parent, value);
+    }
+
+    public void setFloat(Object parent, float value) throws IllegalAccessException {
+        if (floatSetter != null) {
+            try {
+                floatSetter.invokeExact(parent, value);
+                return;
+            } catch (ClassCastException | NullPointerException ignored) {
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        set(parent, value);
+    }
+
+    @Nullable
+    private static MethodHandle typedGetter(@Nullable MethodHandle getter, Class<?> fieldType, Class<?> primitive) {
+        if (getter == null || fieldType != primitive) return null;
+        return getter.asType(MethodType.methodType(primitive, Object.class));
+    }
+
+    @Nullable
+    private static MethodHandle typedSetter(@Nullable MethodHandle setter, Class<?> fieldType, Class<?> primitive) {
+        if (setter == null || fieldType != primitive) return null;
+        return setter.asType(MethodType.methodType(void.class, Object.class, primitive));
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -31,20 +31,61 @@ import cc.polyfrost.oneconfig.events.event.KeyInputEvent;
 import cc.polyfrost.oneconfig.libs.eventbus.Subscribe;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class KeyBindHandler {
     public static final KeyBindHandler INSTANCE = new KeyBindHandler();
+    /**
+     * Keys with a code of at least this (or below 0, like mouse buttons) are not indexed, binds containing them are
+     * checked on every key event.
+     */
+    private static final int MAX_INDEXED_KEY = 1024;
+    private static final OneKeyBind[] EMPTY = new OneKeyBind[0];
     private final ConcurrentHashMap<Map.Entry<Field, Object>, OneKeyBind> keyBinds = new ConcurrentHashMap<>();
+    /**
+     * The key codes every indexed bind was indexed with, so it can be removed from the table again.
+     */
+    private final Map<OneKeyBind, int[]> indexedKeys = new IdentityHashMap<>();
+    private volatile OneKeyBind[][] bindsByKey = new OneKeyBind[0][];
+    private volatile OneKeyBind[] alwaysChecked = EMPTY;
+    /**
+     * Binds that have run and whose keys were all still held down the last time they were checked.
+     */
+    private final List<OneKeyBind> heldBinds = new ArrayList<>();
 
     @Subscribe
     private void onKeyPressed(KeyInputEvent event) {
-        for (OneKeyBind keyBind : keyBinds.values()) {
-            if (keyBind.isActive()) {
-                keyBind.run();
+        // let binds whose keys were released run again, even if the release wasn't seen
+        for (int i = heldBinds.size() - 1; i >= 0; i--) {
+            if (!heldBinds.get(i).isActive()) heldBinds.remove(i);
+        }
+        if (event.key == KeyInputEvent.UNKNOWN_KEY) {
+            for (OneKeyBind keyBind : keyBinds.values()) {
+                check(keyBind);
+            }
+            return;
+        }
+        OneKeyBind[][] bindsByKey = this.bindsByKey;
+        if (event.key >= 0 && event.key < bindsByKey.length && bindsByKey[event.key] != null) {
+            for (OneKeyBind keyBind : bindsByKey[event.key]) {
+                check(keyBind);
             }
         }
+        for (OneKeyBind keyBind : alwaysChecked) {
+            check(keyBind);
+        }
+    }
+
+    private void check(OneKeyBind keyBind) {
+        if (keyBind.isActive()) {
+            keyBind.run();
+            if (!heldBinds.contains(keyBind)) heldBinds.add(keyBind);
+        }
     }
 
     public void addKeyBind(Field field, Object instance, OneKeyBind keyBind) {
@@ -65,19 +106,94 @@ public class KeyBindHandler {
                 return null;
             }
         }, keyBind);
+        index(keyBind);
     }
 
     public void reInitKeyBinds() {
         for (Map.Entry<Field, Object> field : keyBinds.keySet()) {
             if (field.getValue() == null) continue;
             try {
-                keyBinds.put(field, (OneKeyBind) field.getKey().get(field.getValue()));
+                keyBinds.put(field, (OneKeyBind) FieldAccessor.of(field.getKey()).get(field.getValue()));
             } catch (IllegalAccessException ignored) {
             }
         }
+        reIndex();
     }
 
     public void clearKeyBinds() {
         keyBinds.clear();
+        reIndex();
+    }
+
+    /**
+     * Called when the keys of a bind change, so it can be moved to the right place in the dispatch table.
+     */
+    public void onKeysChanged(OneKeyBind keyBind) {
+        synchronized (indexedKeys) {
+            if (indexedKeys.containsKey(keyBind)) index(keyBind);
+        }
+    }
+
+    private void reIndex() {
+        synchronized (indexedKeys) {
+            indexedKeys.clear();
+            bindsByKey = new OneKeyBind[0][];
+            alwaysChecked = EMPTY;
+            heldBinds.clear();
+            for (OneKeyBind keyBind : keyBinds.values()) {
+                index(keyBind);
+            }
+        }
+    }
+
+    private void index(OneKeyBind keyBind) {
+        if (keyBind == null) return;
+        synchronized (indexedKeys) {
+            int[] oldKeys = indexedKeys.remove(keyBind);
+            if (oldKeys != null) {
+                for (int key : oldKeys) {
+                    if (isIndexed(key)) bindsByKey[key] = without(bindsByKey[key], keyBind);
+                    else alwaysChecked = without(alwaysChecked, keyBind);
+                }
+            }
+            int[] keys = keyBind.getKeyCodes().clone();
+            indexedKeys.put(keyBind, keys);
+            OneKeyBind[][] table = bindsByKey;
+            for (int key : keys) {
+                if (isIndexed(key)) {
+                    if (key >= table.length) table = Arrays.copyOf(table, key + 1);
+                    table[key] = with(table[key], keyBind);
+                } else {
+                    alwaysChecked = with(alwaysChecked, keyBind);
+                }
+            }
+            bindsByKey = table;
+        }
+    }
+
+    private static boolean isIndexed(int key) {
+        return key >= 0 && key < MAX_INDEXED_KEY;
+    }
+
+    private static OneKeyBind[] with(OneKeyBind[] binds, OneKeyBind keyBind) {
+        if (binds == null) return new OneKeyBind[]{keyBind};
+        for (OneKeyBind bind : binds) {
+            if (bind == keyBind) return binds;
+        }
+        OneKeyBind[] result = Arrays.copyOf(binds, binds.length + 1);
+        result[binds.length] = keyBind;
+        return result;
+    }
+
+    private static OneKeyBind[] without(OneKeyBind[] binds, OneKeyBind keyBind) {
+        if (binds == null) return null;
+        for (int i = 0; i < binds.length; i++) {
+            if (binds[i] != keyBind) continue;
+            OneKeyBind[] result = new OneKeyBind[binds.length - 1];
+            System.arraycopy(binds, 0, result, 0, i);
+            System.arraycopy(binds, i + 1, result, i, binds.length - i - 1);
+            return result;
+        }
+        return binds;
     }
 }
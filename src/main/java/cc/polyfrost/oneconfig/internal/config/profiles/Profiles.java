@@ -28,6 +28,7 @@ package cc.polyfrost.oneconfig.internal.config.profiles;
 
 import cc.polyfrost.oneconfig.internal.config.OneConfigConfig;
 import cc.polyfrost.oneconfig.internal.config.core.ConfigCore;
+import cc.polyfrost.oneconfig.internal.config.core.ConfigFiles;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -102,7 +103,16 @@ public class Profiles {
         ConfigCore.reInitAll();
     }
 
+    /**
+     * Start reading the config files of a profile in the background, so that switching to it does not have to.
+     */
+    public static void prefetchProfile(String profile) {
+        if (profile == null || !doesProfileExist(profile)) return;
+        ConfigFiles.prefetch(getProfileDir(profile).toPath());
+    }
+
     public static void renameProfile(String name, String newName) {
+        ConfigFiles.forget(getProfileDir(name).toPath());
         try {
             File newFile = new File(profileDir, newName);
             FileUtils.moveDirectory(getProfileDir(name), newFile);
@@ -122,6 +132,7 @@ public class Profiles {
             }
             loadProfile(profiles.stream().filter(entry -> !entry.equals(name)).findFirst().get());
         }
+        ConfigFiles.forget(getProfileDir(name).toPath());
         try {
             FileUtils.deleteDirectory(getProfileDir(name));
             profiles.remove(name);
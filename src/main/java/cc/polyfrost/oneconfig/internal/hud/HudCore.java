@@ -30,9 +30,11 @@ import cc.polyfrost.oneconfig.config.elements.BasicOption;
 import cc.polyfrost.oneconfig.events.event.HudRenderEvent;
 import cc.polyfrost.oneconfig.events.event.InitializationEvent;
 import cc.polyfrost.oneconfig.hud.Hud;
+import cc.polyfrost.oneconfig.internal.config.core.FieldAccessor;
 import cc.polyfrost.oneconfig.libs.eventbus.Subscribe;
 import cc.polyfrost.oneconfig.libs.universal.UGraphics;
 import cc.polyfrost.oneconfig.platform.Platform;
+import cc.polyfrost.oneconfig.utils.SimpleProfiler;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -44,11 +46,14 @@ public class HudCore {
     public static final ArrayList<BasicOption> hudOptions = new ArrayList<>();
     private static boolean isPatcher = false;
     public static boolean editing = false;
+    private static final Map<Field, SimpleProfiler.Section> profilerSections = new ConcurrentHashMap<>();
+    private static final SimpleProfiler.Section OTHER_HUDS_SECTION = SimpleProfiler.getSection("hud/other");
 
     @Subscribe
     public void onRender(HudRenderEvent event) {
         if (editing) return;
-        for (Hud hud : huds.values()) {
+        for (Map.Entry<Map.Entry<Field, Object>, Hud> entry : huds.entrySet()) {
+            Hud hud = entry.getValue();
             if (!hud.isEnabled()) continue;
             //#if FORGE==1 && MC<=11202
             if (hud.isCachingIgnored()) continue;
@@ -56,7 +61,10 @@ public class HudCore {
             hud.deltaTicks = event.deltaTicks;
             UGraphics.enableAlpha();
             UGraphics.enableBlend();
+            SimpleProfiler.Section section = getProfilerSection(entry.getKey());
+            long start = section.start();
             hud.drawAll(event.matrices, false);
+            section.stop(start);
         }
     }
 
@@ -69,9 +77,8 @@ public class HudCore {
         for (Map.Entry<Field, Object> field : huds.keySet()) {
             if (field == null || field.getKey() == null || field.getValue() == null) continue;
             try {
-                field.getKey().setAccessible(true);
                 Hud oldHud = huds.get(field);
-                Hud newHud = (Hud) field.getKey().get(field.getValue());
+                Hud newHud = (Hud) FieldAccessor.of(field.getKey()).get(field.getValue());
                 newHud.setConfig(oldHud.getConfig());
                 for (BasicOption option : hudOptions) {
                     if (option.getParent().equals(oldHud)) {
@@ -84,6 +91,15 @@ public class HudCore {
         }
     }
 
+    /**
+     * @return the profiler section for the HUD stored in the given field, named after the field.
+     * HUDs that are not stored in a field share one section.
+     */
+    public static SimpleProfiler.Section getProfilerSection(Map.Entry<Field, Object> key) {
+        if (key.getKey() == null) return OTHER_HUDS_SECTION;
+        return profilerSections.computeIfAbsent(key.getKey(), field -> SimpleProfiler.getSection("hud/" + field.getDeclaringClass().getSimpleName() + "." + field.getName()));
+    }
+
     public static boolean isPatcher() {
         return isPatcher;
     }
@@ -33,6 +33,7 @@ import cc.polyfrost.oneconfig.renderer.asset.Image;
 import cc.polyfrost.oneconfig.renderer.asset.NVGAsset;
 import cc.polyfrost.oneconfig.renderer.asset.SVG;
 import cc.polyfrost.oneconfig.utils.IOUtils;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.lwjgl.nanovg.NSVGImage;
 import org.lwjgl.nanovg.NanoSVG;
 import org.lwjgl.nanovg.NanoVG;
@@ -43,20 +44,68 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Loads images and SVGs from resources into NanoVG.
+ * <p>
+ * Loaded textures are kept in least recently used caches that are limited by the memory the textures take up.
+ * Textures that were loaded or fetched through the {@link AssetHelper} methods are never evicted, as the caller may
+ * hold on to their handle. They are only deleted by the remove and clear methods.
+ * SVGs are rasterized at sizes rounded up to a few buckets (see {@link #quantize(float)}), so that animated or scaled
+ * icons do not create a new texture for every size they are drawn at.
+ * <p>
+ * When drawing, assets are fetched, decoded and rasterized on worker threads, and only the texture upload happens on
+ * the render thread, limited to {@link #MAX_UPLOAD_BYTES_PER_FRAME} per frame. Small built-in icons are packed into
+ * an {@link IconAtlas} instead of getting a texture each.
  *
  * @see NanoVGHelperImpl
  * @see Images
  * @see SVGs
+ * @see NanoVGStats
  */
 public final class AssetHelperImpl implements AssetHelper {
     public static final int DEFAULT_FLAGS = NanoVG.NVG_IMAGE_REPEATX | NanoVG.NVG_IMAGE_REPEATY | NanoVG.NVG_IMAGE_GENERATE_MIPMAPS;
-    private final Map<String, NVGAsset> imageHashMap = new HashMap<>();
-    private final Map<String, NVGAsset> svgHashMap = new HashMap<>();
+    private static final long MAX_IMAGE_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_SVG_BYTES = 32L * 1024 * 1024;
+    /**
+     * Returned by {@link #loadImageHandle(long, String, int, Class, boolean)} and
+     * {@link #loadSVGHandle(long, String, float, float, int, Class, boolean)} while the asset is still being decoded.
+     */
+    public static final int PENDING = -2;
+    public static final long MAX_UPLOAD_BYTES_PER_FRAME = 4L * 1024 * 1024;
+    private static final long RETRY_FAILED_AFTER = 5000L;
+    private static final long DISCARD_UNCLAIMED_AFTER = 10000L;
+    private static final ExecutorService decoder = Executors.newFixedThreadPool(2,
+            new ThreadFactoryBuilder().setNameFormat("OneConfig Asset Decoder %d").setDaemon(true).build());
+    private final AssetCache<String> imageHashMap = new AssetCache<>(MAX_IMAGE_BYTES);
+    private final AssetCache<SVGKey> svgHashMap = new AssetCache<>(MAX_SVG_BYTES);
+    private final List<NVGAsset> evicted = new ArrayList<>();
+    private final Map<Object, Pending> decoding = new HashMap<>();
+    private final IconAtlas atlas = new IconAtlas();
+    private final Map<SVGKey, IconAtlas.Region> atlasRegions = new HashMap<>();
+    private final Map<Object, Pending> packing = new HashMap<>();
+    private final Set<SVGKey> notInAtlas = new HashSet<>();
+    private final Map<Object, Long> failures = new HashMap<>();
+    private long uploadedBytes = 0;
+    /**
+     * Reused to look SVGs up without allocating. Only ever used on the render thread.
+     */
+    private final SVGKey svgLookupKey = new SVGKey();
 
     /**
      * Loads an assets from resources.
@@ -68,25 +117,40 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public boolean loadImage(long vg, String fileName, int flags, Class<?> clazz) {
-        if (!imageHashMap.containsKey(fileName)) {
-            int[] width = {0};
-            int[] height = {0};
-            int[] channels = {0};
-
-            ByteBuffer image = IOUtils.resourceToByteBufferNullable(fileName, clazz);
-            if (image == null) {
-                return false;
-            }
-
-            ByteBuffer buffer = STBImage.stbi_load_from_memory(image, width, height, channels, 4);
-            if (buffer == null) {
-                return false;
-            }
+        if (loadImageHandle(vg, fileName, flags, clazz, true) == -1) return false;
+        imageHashMap.pin(imageHashMap.get(fileName));
+        return true;
+    }
 
-            imageHashMap.put(fileName, new NVGAsset(NanoVG.nvgCreateImageRGBA(vg, width[0], height[0], flags, buffer), width[0], height[0]));
-            return true;
+    /**
+     * Loads an image if needed, and returns its NanoVG image handle.
+     * <p>
+     * Unless {@code wait} is set, the image is fetched and decoded on a worker thread and {@link #PENDING} is returned
+     * until its texture has been uploaded.
+     *
+     * @param wait Whether to block until the image is loaded.
+     * @return The image handle, {@link #PENDING}, or -1 if the image could not be loaded.
+     * @see #loadImage(long, String, int, Class)
+     */
+    public int loadImageHandle(long vg, String fileName, int flags, Class<?> clazz, boolean wait) {
+        NVGAsset asset = imageHashMap.lookup(fileName);
+        if (asset != null) return asset.getImage();
+        Pending pending = decoding.get(fileName);
+        if (pending == null) {
+            if (isFailing(fileName)) return -1;
+            pending = decode(decoding, fileName, flags, () -> decodeImage(fileName, clazz));
         }
-        return true;
+        Decoded decoded = take(decoding, pending, wait);
+        if (decoded == null) return failures.containsKey(fileName) ? -1 : PENDING;
+        try {
+            // with the flags of the draw that requested the decode, not of whichever draw picks it up
+            asset = new NVGAsset(NanoVG.nvgCreateImageRGBA(vg, decoded.width, decoded.height, pending.flags, decoded.pixels), decoded.width, decoded.height);
+            imageHashMap.add(fileName, asset);
+        } finally {
+            // NanoVG has its own copy of the pixels once the texture is created
+            decoded.free();
+        }
+        return asset.getImage();
     }
 
     /**
@@ -130,44 +194,42 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public boolean loadSVG(long vg, String fileName, float width, float height, int flags, Class<?> clazz) {
-        String name = fileName + "-" + width + "-" + height;
-        if (!svgHashMap.containsKey(name)) {
-            try {
-                InputStream inputStream = this.getClass().getResourceAsStream(fileName);
-                if (inputStream == null) return false;
-                StringBuilder resultStringBuilder = new StringBuilder();
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream))) {
-                    String line;
-                    while ((line = br.readLine()) != null) {
-                        resultStringBuilder.append(line);
-                    }
-                }
-                CharSequence s = resultStringBuilder.toString();
-                NSVGImage svg = NanoSVG.nsvgParse(s, "px", 96f);
-                if (svg == null) return false;
-                long rasterizer = NanoSVG.nsvgCreateRasterizer();
-
-                int w = (int) svg.width();
-                int h = (int) svg.height();
-                float scale = Math.max(width / w, height / h);
-                w = (int) (w * scale);
-                h = (int) (h * scale);
-
-                ByteBuffer image = MemoryUtil.memAlloc(w * h * 4);
-                NanoSVG.nsvgRasterize(rasterizer, svg, 0, 0, scale, image, w, h, w * 4);
-
-                NanoSVG.nsvgDeleteRasterizer(rasterizer);
-                NanoSVG.nsvgDelete(svg);
+        if (loadSVGHandle(vg, fileName, width, height, flags, clazz, true) == -1) return false;
+        svgHashMap.pin(svgHashMap.get(svgLookupKey.set(fileName, quantize(width), quantize(height))));
+        return true;
+    }
 
-                svgHashMap.put(name, new NVGAsset(NanoVG.nvgCreateImageRGBA(vg, w, h, flags, image), w, h));
-                return true;
-            } catch (Exception e) {
-                System.err.println("Failed to parse SVG file");
-                e.printStackTrace();
-                return false;
-            }
+    /**
+     * Loads an SVG if needed, and returns the NanoVG image handle of its rasterization at the given size.
+     * <p>
+     * Unless {@code wait} is set, the SVG is parsed and rasterized on a worker thread and {@link #PENDING} is returned
+     * until its texture has been uploaded.
+     *
+     * @param wait Whether to block until the SVG is loaded.
+     * @return The image handle, {@link #PENDING}, or -1 if the SVG could not be loaded.
+     * @see #loadSVG(long, String, float, float, int, Class)
+     */
+    public int loadSVGHandle(long vg, String fileName, float width, float height, int flags, Class<?> clazz, boolean wait) {
+        int bucketWidth = quantize(width);
+        int bucketHeight = quantize(height);
+        SVGKey key = svgLookupKey.set(fileName, bucketWidth, bucketHeight);
+        NVGAsset asset = svgHashMap.lookup(key);
+        if (asset != null) return asset.getImage();
+        Pending pending = decoding.get(key);
+        if (pending == null) {
+            if (isFailing(key)) return -1;
+            pending = decode(decoding, new SVGKey().set(fileName, bucketWidth, bucketHeight), flags, () -> decodeSVG(fileName, bucketWidth, bucketHeight));
         }
-        return true;
+        Decoded decoded = take(decoding, pending, wait);
+        if (decoded == null) return failures.containsKey(pending.key) ? -1 : PENDING;
+        try {
+            // with the flags of the draw that requested the decode, not of whichever draw picks it up
+            asset = new NVGAsset(NanoVG.nvgCreateImageRGBA(vg, decoded.width, decoded.height, pending.flags, decoded.pixels), decoded.width, decoded.height);
+            svgHashMap.add((SVGKey) pending.key, asset);
+        } finally {
+            decoded.free();
+        }
+        return asset.getImage();
     }
 
     /**
@@ -208,12 +270,13 @@ public final class AssetHelperImpl implements AssetHelper {
      * <p><b>Requires the assets to have been loaded first.</b></p>
      *
      * @param fileName The name of the file to load.
-     * @return The assets
+     * @return The assets, or -1 if it is not loaded
      * @see AssetHelperImpl#loadImage(long, String, Class)
      */
     @Override
     public int getImage(String fileName) {
-        return imageHashMap.get(fileName).getImage();
+        NVGAsset asset = getNVGImage(fileName);
+        return asset == null ? -1 : asset.getImage();
     }
 
     /**
@@ -226,7 +289,7 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public NVGAsset getNVGImage(String fileName) {
-        return imageHashMap.get(fileName);
+        return imageHashMap.pin(imageHashMap.get(fileName));
     }
 
     /**
@@ -239,8 +302,8 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public void removeImage(long vg, String fileName) {
-        NanoVG.nvgDeleteImage(vg, imageHashMap.get(fileName).getImage());
-        imageHashMap.remove(fileName);
+        NVGAsset asset = imageHashMap.delete(fileName);
+        if (asset != null) NanoVG.nvgDeleteImage(vg, asset.getImage());
     }
 
     /**
@@ -251,11 +314,7 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public void clearImages(long vg) {
-        Map<String, NVGAsset> temp = new HashMap<>(imageHashMap);
-        for (String image : temp.keySet()) {
-            NanoVG.nvgDeleteImage(vg, imageHashMap.get(image).getImage());
-            imageHashMap.remove(image);
-        }
+        imageHashMap.clear(vg);
     }
 
     /**
@@ -263,13 +322,13 @@ public final class AssetHelperImpl implements AssetHelper {
      * <p><b>Requires the SVG to have been loaded first.</b></p>
      *
      * @param fileName The name of the file to load.
-     * @return The SVG
+     * @return The SVG, or -1 if it is not loaded at this size
      * @see AssetHelperImpl#loadSVG(long, String, float, float, Class)
      */
     @Override
     public int getSVG(String fileName, float width, float height) {
-        String name = fileName + "-" + width + "-" + height;
-        return svgHashMap.get(name).getImage();
+        NVGAsset asset = svgHashMap.pin(svgHashMap.get(svgLookupKey.set(fileName, quantize(width), quantize(height))));
+        return asset == null ? -1 : asset.getImage();
     }
 
     /**
@@ -277,12 +336,15 @@ public final class AssetHelperImpl implements AssetHelper {
      * <p><b>Requires the assets to have been loaded first.</b></p>
      *
      * @param fileName The name of the file to load.
-     * @return The SVG and its data
+     * @return The SVG and its data, at any of the sizes it was loaded at
      * @see AssetHelperImpl#loadImage(long, String, Class)
      */
     @Override
     public NVGAsset getNVGSVG(String fileName) {
-        return svgHashMap.get(fileName);
+        for (Map.Entry<SVGKey, NVGAsset> entry : svgHashMap.entrySet()) {
+            if (entry.getKey().path.equals(fileName)) return svgHashMap.pin(entry.getValue());
+        }
+        return null;
     }
 
     /**
@@ -295,9 +357,8 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public void removeSVG(long vg, String fileName, float width, float height) {
-        String name = fileName + "-" + width + "-" + height;
-        NanoVG.nvgDeleteImage(vg, imageHashMap.get(name).getImage());
-        svgHashMap.remove(name);
+        NVGAsset asset = svgHashMap.delete(svgLookupKey.set(fileName, quantize(width), quantize(height)));
+        if (asset != null) NanoVG.nvgDeleteImage(vg, asset.getImage());
     }
 
     /**
@@ -308,10 +369,350 @@ public final class AssetHelperImpl implements AssetHelper {
      */
     @Override
     public void clearSVGs(long vg) {
-        Map<String, NVGAsset> temp = new HashMap<>(svgHashMap);
-        for (String image : temp.keySet()) {
-            NanoVG.nvgDeleteImage(vg, svgHashMap.get(image).getImage());
-            svgHashMap.remove(image);
+        svgHashMap.clear(vg);
+        atlas.clear(vg);
+        atlasRegions.clear();
+        notInAtlas.clear();
+    }
+
+    /**
+     * Gets the region of the {@link IconAtlas} a built-in SVG is packed into at the given size, rasterizing it on a
+     * worker thread and packing it if needed.
+     *
+     * @return The region, {@link IconAtlas.Region#PENDING} while it is being rasterized, or null if the SVG is not
+     * packed into the atlas and should be loaded with {@link #loadSVGHandle(long, String, float, float, int, Class, boolean)}.
+     */
+    IconAtlas.Region loadAtlasRegion(long vg, String fileName, float width, float height) {
+        int bucketWidth = quantize(width);
+        int bucketHeight = quantize(height);
+        if (!atlas.accepts(fileName, bucketWidth, bucketHeight)) return null;
+        SVGKey key = svgLookupKey.set(fileName, bucketWidth, bucketHeight);
+        IconAtlas.Region region = atlasRegions.get(key);
+        if (region != null) {
+            NanoVGStats.onAssetHit();
+            return region;
+        }
+        if (notInAtlas.contains(key)) return null;
+        Pending pending = packing.get(key);
+        if (pending == null) {
+            if (isFailing(key)) return null;
+            NanoVGStats.onAssetMiss();
+            pending = decode(packing, new SVGKey().set(fileName, bucketWidth, bucketHeight), 0, () -> decodeSVG(fileName, bucketWidth, bucketHeight));
+        }
+        Decoded decoded = take(packing, pending, false);
+        if (decoded == null) return failures.containsKey(pending.key) ? null : IconAtlas.Region.PENDING;
+        try {
+            region = atlas.add(vg, decoded.pixels, decoded.width, decoded.height);
+        } finally {
+            decoded.free();
+        }
+        if (region == null) {
+            // the atlas is full, so this icon gets a texture of its own
+            notInAtlas.add((SVGKey) pending.key);
+            return null;
+        }
+        atlasRegions.put((SVGKey) pending.key, region);
+        return region;
+    }
+
+    /**
+     * Called by {@link NanoVGHelperImpl} right before a frame ends, to upload icons that were packed into the atlas
+     * during the frame.
+     *
+     * @param vg The NanoVG context.
+     */
+    public void uploadAtlas(long vg) {
+        atlas.upload(vg);
+    }
+
+    /**
+     * Called by {@link NanoVGHelperImpl} once a frame has ended. Deletes the textures that were evicted from the
+     * caches, as draw calls recorded earlier in the frame may still sample them until then, and resets the upload
+     * budget.
+     *
+     * @param vg The NanoVG context.
+     */
+    public void endFrame(long vg) {
+        uploadedBytes = 0;
+        if (!evicted.isEmpty()) {
+            for (NVGAsset asset : evicted) {
+                NanoVG.nvgDeleteImage(vg, asset.getImage());
+            }
+            evicted.clear();
+        }
+        discardUnclaimed(decoding);
+        discardUnclaimed(packing);
+    }
+
+    /**
+     * Frees the decoded pixels of assets that stopped being drawn before they were uploaded.
+     */
+    private static void discardUnclaimed(Map<Object, Pending> pendingMap) {
+        if (pendingMap.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        Iterator<Pending> iterator = pendingMap.values().iterator();
+        while (iterator.hasNext()) {
+            Pending pending = iterator.next();
+            if (!pending.future.isDone() || now - pending.lastPolled < DISCARD_UNCLAIMED_AFTER) continue;
+            iterator.remove();
+            Decoded decoded = getDecoded(pending);
+            if (decoded != null) decoded.free();
+        }
+    }
+
+    private Pending decode(Map<Object, Pending> pendingMap, Object key, int flags, Callable<Decoded> task) {
+        Pending pending = new Pending(key, flags, decoder.submit(task));
+        pendingMap.put(key, pending);
+        return pending;
+    }
+
+    /**
+     * Takes the decoded pixels of an asset once they are ready and fit in this frame's upload budget.
+     *
+     * @return The decoded pixels, or null if they are not ready yet or decoding failed.
+     */
+    private Decoded take(Map<Object, Pending> pendingMap, Pending pending, boolean wait) {
+        pending.lastPolled = System.currentTimeMillis();
+        if (!wait && (!pending.future.isDone() || uploadedBytes + atlas.getUploadBytes() >= MAX_UPLOAD_BYTES_PER_FRAME)) return null;
+        pendingMap.remove(pending.key);
+        Decoded decoded = getDecoded(pending);
+        if (decoded == null) {
+            failures.put(pending.key, pending.lastPolled);
+            return null;
+        }
+        // the atlas counts the parts of its pages it actually uploads for the icons packed into it
+        if (pendingMap != packing) uploadedBytes += (long) decoded.width * decoded.height * 4;
+        return decoded;
+    }
+
+    private static Decoded getDecoded(Pending pending) {
+        try {
+            return pending.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+        return null;
+    }
+
+    private boolean isFailing(Object key) {
+        Long failedAt = failures.get(key);
+        if (failedAt == null) return false;
+        if (System.currentTimeMillis() - failedAt < RETRY_FAILED_AFTER) return true;
+        failures.remove(key);
+        return false;
+    }
+
+    private static Decoded decodeImage(String fileName, Class<?> clazz) {
+        int[] width = {0};
+        int[] height = {0};
+        int[] channels = {0};
+
+        ByteBuffer image = IOUtils.resourceToByteBufferNullable(fileName, clazz);
+        if (image == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = STBImage.stbi_load_from_memory(image, width, height, channels, 4);
+        if (buffer == null) {
+            return null;
+        }
+        return new Decoded(buffer, width[0], height[0], true);
+    }
+
+    private static Decoded decodeSVG(String fileName, int width, int height) {
+        try {
+            InputStream inputStream = AssetHelperImpl.class.getResourceAsStream(fileName);
+            if (inputStream == null) return null;
+            StringBuilder resultStringBuilder = new StringBuilder();
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    resultStringBuilder.append(line);
+                }
+            }
+            CharSequence s = resultStringBuilder.toString();
+            NSVGImage svg = NanoSVG.nsvgParse(s, "px", 96f);
+            if (svg == null) return null;
+            long rasterizer = NanoSVG.nsvgCreateRasterizer();
+            ByteBuffer image = null;
+            try {
+                int w = (int) svg.width();
+                int h = (int) svg.height();
+                float scale = Math.max((float) width / w, (float) height / h);
+                w = (int) (w * scale);
+                h = (int) (h * scale);
+
+                image = MemoryUtil.memAlloc(w * h * 4);
+                NanoSVG.nsvgRasterize(rasterizer, svg, 0, 0, scale, image, w, h, w * 4);
+                Decoded decoded = new Decoded(image, w, h, false);
+                image = null;
+                return decoded;
+            } finally {
+                if (image != null) MemoryUtil.memFree(image);
+                NanoSVG.nsvgDeleteRasterizer(rasterizer);
+                NanoSVG.nsvgDelete(svg);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to parse SVG file");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Rounds an SVG dimension up to its size bucket. Buckets are an eighth of the size apart (but at least 4 pixels),
+     * and the texture is scaled down to the requested size when drawn.
+     */
+    static int quantize(float size) {
+        int pixels = Math.max(1, (int) Math.ceil(size));
+        int step = Math.max(4, Integer.highestOneBit(pixels) >> 3);
+        return (pixels + step - 1) / step * step;
+    }
+
+    /**
+     * A least recently used map of loaded textures, limited by the (approximate) memory the textures take up.
+     */
+    private final class AssetCache<K> extends LinkedHashMap<K, NVGAsset> {
+        private final long maxBytes;
+        private final Set<NVGAsset> pinned = Collections.newSetFromMap(new IdentityHashMap<>());
+        private long bytes = 0;
+
+        private AssetCache(long maxBytes) {
+            super(16, 0.75f, true);
+            this.maxBytes = maxBytes;
+        }
+
+        private NVGAsset lookup(K key) {
+            NVGAsset asset = get(key);
+            if (asset != null) NanoVGStats.onAssetHit();
+            else NanoVGStats.onAssetMiss();
+            return asset;
+        }
+
+        private void add(K key, NVGAsset asset) {
+            NVGAsset previous = put(key, asset);
+            if (previous != null) {
+                bytes -= sizeOf(previous);
+                evicted.add(previous);
+                if (pinned.remove(previous)) pinned.add(asset);
+            }
+            bytes += sizeOf(asset);
+            // the newest entry is last, so it is never evicted before the caller has drawn it
+            Iterator<NVGAsset> eldest = values().iterator();
+            for (int remaining = size() - 1; bytes > maxBytes && remaining > 0; remaining--) {
+                NVGAsset candidate = eldest.next();
+                if (pinned.contains(candidate)) continue;
+                eldest.remove();
+                bytes -= sizeOf(candidate);
+                evicted.add(candidate);
+                NanoVGStats.onAssetEvicted();
+            }
+        }
+
+        /**
+         * Keeps an asset from being evicted, as its handle was handed out through the public API.
+         *
+         * @return the asset, to allow chaining
+         */
+        private NVGAsset pin(NVGAsset asset) {
+            if (asset != null) pinned.add(asset);
+            return asset;
+        }
+
+        private NVGAsset delete(K key) {
+            NVGAsset asset = remove(key);
+            if (asset != null) {
+                bytes -= sizeOf(asset);
+                pinned.remove(asset);
+            }
+            return asset;
+        }
+
+        private void clear(long vg) {
+            for (NVGAsset asset : values()) {
+                NanoVG.nvgDeleteImage(vg, asset.getImage());
+            }
+            clear();
+            pinned.clear();
+            bytes = 0;
+        }
+
+        private long sizeOf(NVGAsset asset) {
+            return (long) asset.getWidth() * asset.getHeight() * 4;
+        }
+    }
+
+    /**
+     * Identifies an SVG rasterized at a size bucket. Mutable so that lookups can reuse one instance, so keys that are
+     * stored in the cache must never be modified.
+     */
+    private static final class SVGKey {
+        private String path;
+        private int width;
+        private int height;
+
+        private SVGKey set(String path, int width, int height) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SVGKey)) return false;
+            SVGKey key = (SVGKey) o;
+            return width == key.width && height == key.height && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return (path.hashCode() * 31 + width) * 31 + height;
+        }
+    }
+
+    /**
+     * An asset that is being decoded on a worker thread.
+     */
+    private static final class Pending {
+        private final Object key;
+        /**
+         * The NanoVG image flags the texture is created with.
+         */
+        private final int flags;
+        private final Future<Decoded> future;
+        private long lastPolled;
+
+        private Pending(Object key, int flags, Future<Decoded> future) {
+            this.key = key;
+            this.flags = flags;
+            this.future = future;
+            this.lastPolled = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * RGBA pixels decoded off-thread, waiting to be uploaded.
+     */
+    private static final class Decoded {
+        private final ByteBuffer pixels;
+        private final int width;
+        private final int height;
+        private final boolean stb;
+
+        private Decoded(ByteBuffer pixels, int width, int height, boolean stb) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.stb = stb;
+        }
+
+        private void free() {
+            if (stb) STBImage.stbi_image_free(pixels);
+            else MemoryUtil.memFree(pixels);
         }
     }
 }
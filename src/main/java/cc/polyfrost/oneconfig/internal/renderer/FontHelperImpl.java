@@ -46,6 +46,7 @@ public class FontHelperImpl implements FontHelper {
      */
 
     public void initialize(long vg) {
+        TextMetricsCache.invalidate();
         for (Field field : Fonts.class.getDeclaredFields()) {
             try {
                 field.setAccessible(true);
@@ -74,5 +75,6 @@ public class FontHelperImpl implements FontHelper {
             e.printStackTrace();
         }
         font.setLoaded(true);
+        TextMetricsCache.invalidate();
     }
 }
@@ -0,0 +1,263 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.renderer;
+
+import cc.polyfrost.oneconfig.internal.assets.SVGs;
+import cc.polyfrost.oneconfig.renderer.asset.SVG;
+import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.nanovg.NanoVGGL2;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.system.MemoryUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Packs the built-in {@link SVGs} into a few large textures, so that drawing many icons does not bind a new texture
+ * for every one of them.
+ * <p>
+ * Icons added during a frame are uploaded together once the frame is done, and only the part of each page that
+ * changed is uploaded.
+ * <p>
+ * Icons are added the first time they are drawn at a size, using the rasterization {@link AssetHelperImpl} decoded
+ * for them, and are never removed until the atlas is {@link #clear(long) cleared}.
+ */
+final class IconAtlas {
+    /**
+     * The width and height of every page.
+     */
+    static final int SIZE = 1024;
+    /**
+     * The largest icon (in pixels, per side) that is put into the atlas.
+     */
+    static final int MAX_ICON_SIZE = 128;
+    private static final int MAX_PAGES = 4;
+    // transparent gap between icons, so that linear filtering does not sample the neighbouring icon
+    private static final int PADDING = 1;
+    private static final Set<String> builtInPaths = collectBuiltInPaths();
+    private final List<Page> pages = new ArrayList<>();
+    private long uploadBytes = 0;
+
+    /**
+     * @return whether the SVG at the given path rasterized at the given size belongs into the atlas.
+     */
+    boolean accepts(String path, int width, int height) {
+        return width <= MAX_ICON_SIZE && height <= MAX_ICON_SIZE && builtInPaths.contains(path);
+    }
+
+    /**
+     * Copies a rasterized icon into the atlas.
+     *
+     * @return the region the icon was packed into, or null if the atlas is full.
+     */
+    Region add(long vg, ByteBuffer pixels, int width, int height) {
+        if (width > MAX_ICON_SIZE || height > MAX_ICON_SIZE) return null;
+        for (Page page : pages) {
+            Region region = add(vg, page, pixels, width, height);
+            if (region != null) return region;
+        }
+        if (pages.size() >= MAX_PAGES) return null;
+        Page page = new Page();
+        pages.add(page);
+        return add(vg, page, pixels, width, height);
+    }
+
+    private Region add(long vg, Page page, ByteBuffer pixels, int width, int height) {
+        long dirtyBytes = page.getDirtyBytes();
+        Region region = page.add(pixels, width, height);
+        if (region == null) return null;
+        if (page.image == -1) {
+            // the first icon of a page is uploaded together with the whole (otherwise transparent) page
+            page.image = NanoVG.nvgCreateImageRGBA(vg, SIZE, SIZE, 0, page.pixels);
+            page.clearDirty();
+            uploadBytes += (long) SIZE * SIZE * 4;
+        } else {
+            uploadBytes += page.getDirtyBytes() - dirtyBytes;
+        }
+        return region;
+    }
+
+    /**
+     * @return the bytes uploaded for icons added since the last {@link #upload(long)}, counting the changed parts of
+     * the pages that are still waiting for it.
+     */
+    long getUploadBytes() {
+        return uploadBytes;
+    }
+
+    /**
+     * Uploads the icons that were added since the last upload. Has to be called before the NanoVG frame ends, so that
+     * icons added during the frame are drawn.
+     */
+    void upload(long vg) {
+        uploadBytes = 0;
+        int boundTexture = -1;
+        for (Page page : pages) {
+            if (page.getDirtyBytes() == 0) continue;
+            if (boundTexture == -1) {
+                boundTexture = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+                GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+                GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, SIZE);
+            }
+            // nvgUpdateImage always uploads the whole page, so only the changed rectangle is uploaded here instead
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, NanoVGGL2.nvglImageHandle(vg, page.image));
+            GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_PIXELS, page.dirtyMinX);
+            GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_ROWS, page.dirtyMinY);
+            GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, page.dirtyMinX, page.dirtyMinY,
+                    page.dirtyMaxX - page.dirtyMinX, page.dirtyMaxY - page.dirtyMinY, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, page.pixels);
+            page.clearDirty();
+        }
+        if (boundTexture == -1) return;
+        // the same defaults NanoVG restores after its own uploads
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 4);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, 0);
+        GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_PIXELS, 0);
+        GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_ROWS, 0);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, boundTexture);
+    }
+
+    /**
+     * Deletes all pages.
+     */
+    void clear(long vg) {
+        for (Page page : pages) {
+            if (page.image != -1) NanoVG.nvgDeleteImage(vg, page.image);
+            MemoryUtil.memFree(page.pixels);
+        }
+        pages.clear();
+        uploadBytes = 0;
+    }
+
+    private static Set<String> collectBuiltInPaths() {
+        Set<String> paths = new HashSet<>();
+        for (Field field : SVGs.class.getFields()) {
+            if (field.getType() != SVG.class || !Modifier.isStatic(field.getModifiers())) continue;
+            try {
+                paths.add(((SVG) field.get(null)).filePath);
+            } catch (IllegalAccessException ignored) {
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * The part of an atlas page an icon was packed into.
+     */
+    static final class Region {
+        /**
+         * Returned while the icon is still being rasterized.
+         */
+        static final Region PENDING = new Region(null, 0, 0, 0, 0);
+        private final Page page;
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+
+        private Region(Page page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * @return the NanoVG image handle of the page this region is in.
+         */
+        int getImage() {
+            return page.image;
+        }
+    }
+
+    /**
+     * One atlas texture, filled row by row ("shelf" packing), which works well for icons of a few similar sizes.
+     */
+    private static final class Page {
+        private final ByteBuffer pixels = MemoryUtil.memCalloc(SIZE * SIZE * 4);
+        private final List<int[]> shelves = new ArrayList<>(); // {y, height, next x}
+        private int nextShelfY = 0;
+        private int image = -1;
+        // the rectangle changed since the last upload, empty while dirtyMaxX is 0
+        private int dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+
+        private Region add(ByteBuffer icon, int width, int height) {
+            int paddedWidth = width + PADDING;
+            int paddedHeight = height + PADDING;
+            int[] target = null;
+            for (int[] shelf : shelves) {
+                if (paddedHeight <= shelf[1] && shelf[2] + paddedWidth <= SIZE) {
+                    target = shelf;
+                    break;
+                }
+            }
+            if (target == null) {
+                if (nextShelfY + paddedHeight > SIZE) return null;
+                target = new int[]{nextShelfY, paddedHeight, 0};
+                shelves.add(target);
+                nextShelfY += paddedHeight;
+            }
+            int x = target[2];
+            int y = target[0];
+            target[2] += paddedWidth;
+
+            ByteBuffer source = icon.duplicate();
+            ByteBuffer destination = pixels.duplicate();
+            for (int row = 0; row < height; row++) {
+                ((Buffer) source).limit((row + 1) * width * 4).position(row * width * 4);
+                ((Buffer) destination).position(((y + row) * SIZE + x) * 4);
+                destination.put(source);
+            }
+            if (dirtyMaxX == 0) {
+                dirtyMinX = x;
+                dirtyMinY = y;
+                dirtyMaxX = x + width;
+                dirtyMaxY = y + height;
+            } else {
+                dirtyMinX = Math.min(dirtyMinX, x);
+                dirtyMinY = Math.min(dirtyMinY, y);
+                dirtyMaxX = Math.max(dirtyMaxX, x + width);
+                dirtyMaxY = Math.max(dirtyMaxY, y + height);
+            }
+            return new Region(this, x, y, width, height);
+        }
+
+        private long getDirtyBytes() {
+            return (long) (dirtyMaxX - dirtyMinX) * (dirtyMaxY - dirtyMinY) * 4;
+        }
+
+        private void clearDirty() {
+            dirtyMinX = dirtyMinY = dirtyMaxX = dirtyMaxY = 0;
+        }
+    }
+}
@@ -47,6 +47,7 @@ import cc.polyfrost.oneconfig.renderer.font.FontHelper;
 import cc.polyfrost.oneconfig.utils.IOUtils;
 import cc.polyfrost.oneconfig.utils.InputHandler;
 import cc.polyfrost.oneconfig.utils.NetworkUtils;
+import cc.polyfrost.oneconfig.utils.SimpleProfiler;
 import cc.polyfrost.oneconfig.utils.color.ColorUtils;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.nanovg.NVGColor;
@@ -63,11 +64,32 @@ import static org.lwjgl.nanovg.NanoVG.*;
  * Handles NanoVG rendering and wraps it in a more convenient interface.
  */
 public final class NanoVGHelperImpl implements NanoVGHelper {
+    /**
+     * One profiler section per class that calls {@link #setupAndDraw(int, boolean, LongConsumer)}, named after the
+     * class the draw lambda was declared in.
+     */
+    private static final ClassValue<SimpleProfiler.Section> DRAW_SECTIONS = new ClassValue<SimpleProfiler.Section>() {
+        @Override
+        protected SimpleProfiler.Section computeValue(Class<?> type) {
+            String name = type.getName();
+            int lambda = name.indexOf("$$Lambda");
+            if (lambda != -1) name = name.substring(0, lambda);
+            return SimpleProfiler.getSection("nanovg/" + name.substring(name.lastIndexOf('.') + 1));
+        }
+    };
     private long vg = -1;
     private static int[] readingPixels = null;
     private static int[] readColors = new int[]{0};
     private boolean drawing = false;
     private boolean goingToCancel = false;
+    /**
+     * The text line height currently set on the NanoVG context. NanoVG has no getter for it, but it is only ever set
+     * through this class, as mods cannot reach the isolated NanoVG classes.
+     */
+    private float textLineHeight = 1f;
+    private NVGColor primaryColor;
+    private NVGColor secondaryColor;
+    private NVGPaint paint;
 
     //nanovg
 
@@ -120,6 +142,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      */
     @Override
     public void setupAndDraw(int nvgFlags, boolean mcScaling, LongConsumer consumer) {
+        final SimpleProfiler.Section section = DRAW_SECTIONS.get(consumer.getClass());
+        final long start = section.start();
         drawing = true;
         if (vg == -1) {
             vg = NanoVGGL2.nvgCreate(nvgFlags);
@@ -142,10 +166,14 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         } else {
             nvgBeginFrame(vg, UResolution.getWindowWidth(), UResolution.getWindowHeight(), 1);
         }
+        // nvgBeginFrame resets the state
+        textLineHeight = 1f;
 
         consumer.accept(vg);
 
+        if (AssetHelper.INSTANCE instanceof AssetHelperImpl) ((AssetHelperImpl) AssetHelper.INSTANCE).uploadAtlas(vg);
         nvgEndFrame(vg);
+        if (AssetHelper.INSTANCE instanceof AssetHelperImpl) ((AssetHelperImpl) AssetHelper.INSTANCE).endFrame(vg);
         UGraphics.enableAlpha();
         GL11.glPopAttrib();
 
@@ -158,6 +186,7 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
                 readColors[i] = ColorUtils.getColor(buf.get(), buf.get(), buf.get(), buf.get());
             readingPixels = null;
         }
+        section.stop(start);
     }
 
     /**
@@ -174,9 +203,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     public void drawRect(long vg, float x, float y, float width, float height, int color) {
         nvgBeginPath(vg);
         nvgRect(vg, x, y, width, height);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgFill(vg);
-        nvgColor.free();
     }
 
     /**
@@ -194,9 +222,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     public void drawRoundedRect(long vg, float x, float y, float width, float height, int color, float radius) {
         nvgBeginPath(vg);
         nvgRoundedRect(vg, x, y, width, height, radius);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgFill(vg);
-        nvgColor.free();
     }
 
     /**
@@ -216,9 +243,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     public void drawRoundedRectVaried(long vg, float x, float y, float width, float height, int color, float radiusTL, float radiusTR, float radiusBR, float radiusBL) {
         nvgBeginPath(vg);
         nvgRoundedRectVarying(vg, x, y, width, height, radiusTL, radiusTR, radiusBR, radiusBL);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgFill(vg);
-        nvgColor.free();
     }
 
     /**
@@ -239,10 +265,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgRoundedRect(vg, x + thickness, y + thickness, width - thickness, height - thickness, radius);
         nvgStrokeWidth(vg, thickness + 0.5f);
         nvgPathWinding(vg, NVG_HOLE);
-        NVGColor nvgColor = color(vg, color);
-        nvgStrokeColor(vg, nvgColor);
+        nvgStrokeColor(vg, fillColor(vg, color));
         nvgStroke(vg);
-        nvgColor.free();
     }
 
     /**
@@ -258,17 +282,11 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      */
     @Override
     public void drawGradientRect(long vg, float x, float y, float width, float height, int color, int color2, NanoVGHelper.GradientDirection direction) {
-        NVGPaint bg = NVGPaint.create();
         nvgBeginPath(vg);
         nvgRect(vg, x, y, width, height);
-        NVGColor nvgColor = color(vg, color);
-        NVGColor nvgColor2 = color(vg, color2);
         final float[] pts = GradientDirection.getValues(x, y, width, height, direction);
-        nvgFillPaint(vg, nvgLinearGradient(vg, pts[0], pts[1], pts[2], pts[3], nvgColor, nvgColor2, bg));
-        nvgFillPaint(vg, bg);
+        nvgFillPaint(vg, linearGradient(vg, pts[0], pts[1], pts[2], pts[3], color, color2));
         nvgFill(vg);
-        nvgColor.free();
-        nvgColor2.free();
     }
 
     /**
@@ -285,16 +303,11 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      */
     @Override
     public void drawGradientRoundedRect(long vg, float x, float y, float width, float height, int color, int color2, float radius, NanoVGHelper.GradientDirection direction) {
-        NVGPaint bg = NVGPaint.create();
         nvgBeginPath(vg);
         nvgRoundedRect(vg, x, y, width, height, radius);
-        NVGColor nvgColor = color(vg, color);
-        NVGColor nvgColor2 = color(vg, color2);
         final float[] pts = GradientDirection.getValues(x, y, width, height, direction);
-        nvgFillPaint(vg, nvgLinearGradient(vg, pts[0], pts[1], pts[2], pts[3], nvgColor, nvgColor2, bg));
+        nvgFillPaint(vg, linearGradient(vg, pts[0], pts[1], pts[2], pts[3], color, color2));
         nvgFill(vg);
-        nvgColor.free();
-        nvgColor2.free();
     }
 
     /**
@@ -311,25 +324,15 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     public void drawHSBBox(long vg, float x, float y, float width, float height, int colorTarget) {
         drawRoundedRect(vg, x, y, width, height, colorTarget, 8f);
 
-        NVGPaint bg = NVGPaint.create();
         nvgBeginPath(vg);
         nvgRoundedRect(vg, x, y, width, height, 8f);
-        NVGColor nvgColor = color(vg, -1);
-        NVGColor nvgColor2 = color(vg, Colors.TRANSPARENT);
-        nvgFillPaint(vg, nvgLinearGradient(vg, x, y, x + width, y, nvgColor, nvgColor2, bg));
+        nvgFillPaint(vg, linearGradient(vg, x, y, x + width, y, -1, Colors.TRANSPARENT));
         nvgFill(vg);
-        nvgColor.free();
-        nvgColor2.free();
 
-        NVGPaint bg2 = NVGPaint.create();
         nvgBeginPath(vg);
         nvgRoundedRect(vg, x, y, width, height, 8f);
-        NVGColor nvgColor3 = color(vg, Colors.TRANSPARENT);
-        NVGColor nvgColor4 = color(vg, Colors.BLACK);
-        nvgFillPaint(vg, nvgLinearGradient(vg, x, y, x, y + height, nvgColor3, nvgColor4, bg2));
+        nvgFillPaint(vg, linearGradient(vg, x, y, x, y + height, Colors.TRANSPARENT, Colors.BLACK));
         nvgFill(vg);
-        nvgColor3.free();
-        nvgColor4.free();
     }
 
     /**
@@ -345,9 +348,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     public void drawCircle(long vg, float x, float y, float radius, int color) {
         nvgBeginPath(vg);
         nvgCircle(vg, x, y, radius);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgFill(vg);
-        nvgColor.free();
     }
 
     /**
@@ -364,9 +366,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     public void drawEllipse(long vg, float x, float y, float radiusX, float radiusY, int color) {
         nvgBeginPath(vg);
         nvgEllipse(vg, x, y, radiusX, radiusY);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgFill(vg);
-        nvgColor.free();
     }
 
     /**
@@ -386,10 +387,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgEllipse(vg, x, y, radiusX, radiusY);
         nvgStrokeWidth(vg, thickness + 0.5f);
         nvgPathWinding(vg, NVG_HOLE);
-        NVGColor nvgColor = color(vg, color);
-        nvgStrokeColor(vg, nvgColor);
+        nvgStrokeColor(vg, fillColor(vg, color));
         nvgStroke(vg);
-        nvgColor.free();
     }
 
     /**
@@ -410,9 +409,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgFontSize(vg, size);
         nvgFontFace(vg, font.getName());
         nvgTextAlign(vg, NVG_ALIGN_LEFT | NVG_ALIGN_MIDDLE);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgText(vg, x, y, text);
-        nvgColor.free();
     }
 
     /**
@@ -433,9 +431,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgFontSize(vg, size);
         nvgFontFace(vg, font.getName());
         nvgTextAlign(vg, NVG_ALIGN_CENTER | NVG_ALIGN_MIDDLE);
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgText(vg, x, y, text);
-        nvgColor.free();
     }
 
     @Override
@@ -444,9 +441,8 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgFontSize(vg, size);
         nvgFontFace(vg, font.getName());
         nvgTextAlign(vg, NVG_ALIGN_LEFT | NVG_ALIGN_MIDDLE); // Align top because center is weird with wrapping
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgTextBox(vg, x, y, width, text);
-        nvgColor.free();
     }
 
     /**
@@ -467,59 +463,63 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgBeginPath(vg);
         nvgFontSize(vg, size);
         nvgFontFace(vg, font.getName());
-        nvgTextLineHeight(vg, lineHeight);
+        setTextLineHeight(vg, lineHeight);
         nvgTextAlign(vg, NVG_ALIGN_LEFT | NVG_ALIGN_MIDDLE); // Align top because center is weird with wrapping
-        NVGColor nvgColor = color(vg, color);
+        fillColor(vg, color);
         nvgTextBox(vg, x, y, width, text);
-        nvgColor.free();
     }
 
     @Override
     public float[] getWrappedStringBounds(long vg, String text, float width, float fontSize, Font font) {
-        float[] bounds = new float[4];
-        nvgFontSize(vg, fontSize);
-        nvgFontFace(vg, font.getName());
-        nvgTextBoxBounds(vg, 0, 0, width, text, bounds);
-        return bounds;
+        return wrappedStringBounds(vg, text, width, fontSize, TextMetricsCache.NO_LINE_HEIGHT, font).clone();
     }
 
     @Override
     public float[] getWrappedStringBounds(long vg, String text, float width, float fontSize, float lineHeight, Font font) {
-        float[] bounds = new float[4];
-        nvgFontSize(vg, fontSize);
-        nvgFontFace(vg, font.getName());
-        nvgTextLineHeight(vg, lineHeight);
-        nvgTextBoxBounds(vg, 0, 0, width, text, bounds);
-        return bounds;
+        return wrappedStringBounds(vg, text, width, fontSize, lineHeight, font).clone();
     }
 
     @Override
     public float getWrappedStringHeight(long vg, String text, float width, float fontSize, float lineHeight, Font font) {
-        float[] bounds = new float[4];
-        nvgFontSize(vg, fontSize);
-        nvgFontFace(vg, font.getName());
-        nvgTextLineHeight(vg, lineHeight);
-        nvgTextBoxBounds(vg, 0, 0, width, text, bounds);
+        float[] bounds = wrappedStringBounds(vg, text, width, fontSize, lineHeight, font);
         return bounds[3] - bounds[1];
     }
 
     @Override
     public float getWrappedStringWidth(long vg, String text, float width, float fontSize, Font font) {
-        float[] bounds = new float[4];
-        nvgFontSize(vg, fontSize);
-        nvgFontFace(vg, font.getName());
-        nvgTextBoxBounds(vg, 0, 0, width, text, bounds);
+        float[] bounds = wrappedStringBounds(vg, text, width, fontSize, TextMetricsCache.NO_LINE_HEIGHT, font);
         return bounds[2] - bounds[0];
     }
 
     @Override
     public float getWrappedStringWidth(long vg, String text, float width, float fontSize, float lineHeight, Font font) {
-        float[] bounds = new float[4];
+        float[] bounds = wrappedStringBounds(vg, text, width, fontSize, lineHeight, font);
+        return bounds[2] - bounds[0];
+    }
+
+    /**
+     * Measures the bounds of a wrapped String, using {@link TextMetricsCache} so that the layout is only done once.
+     * The font state is set like an uncached measurement would, as callers may draw with it afterwards.
+     *
+     * @param lineHeight The line height, or {@link TextMetricsCache#NO_LINE_HEIGHT} to keep the current one.
+     * @return The cached bounds. These must not be modified.
+     */
+    private float[] wrappedStringBounds(long vg, String text, float width, float fontSize, float lineHeight, Font font) {
         nvgFontSize(vg, fontSize);
         nvgFontFace(vg, font.getName());
+        if (!Float.isNaN(lineHeight)) setTextLineHeight(vg, lineHeight);
+        float[] bounds = TextMetricsCache.get(text, font.getName(), fontSize, width, textLineHeight);
+        if (bounds == null) {
+            bounds = new float[4];
+            nvgTextBoxBounds(vg, 0, 0, width, text, bounds);
+            TextMetricsCache.put(text, font.getName(), fontSize, width, textLineHeight, bounds);
+        }
+        return bounds;
+    }
+
+    private void setTextLineHeight(long vg, float lineHeight) {
         nvgTextLineHeight(vg, lineHeight);
-        nvgTextBoxBounds(vg, 0, 0, width, text, bounds);
-        return bounds[2] - bounds[0];
+        textLineHeight = lineHeight;
     }
 
     /**
@@ -559,16 +559,21 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
 
     @Override
     public void drawImage(long vg, String filePath, float x, float y, float width, float height, Class<?> clazz) {
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadImage(vg, filePath, clazz)) {
-            NVGPaint imagePaint = NVGPaint.calloc();
-            int image = assetHelper.getImage(filePath);
+        drawImageHandle(vg, loadImageHandle(vg, filePath, clazz), x, y, width, height);
+    }
+
+    /**
+     * Draws an image from its handle, or a placeholder while it is {@link AssetHelperImpl#PENDING}.
+     */
+    private void drawImageHandle(long vg, int image, float x, float y, float width, float height) {
+        if (image == AssetHelperImpl.PENDING) {
+            drawPlaceholder(vg, x, y, width, height, 0);
+        } else if (image != -1) {
             nvgBeginPath(vg);
-            nvgImagePattern(vg, x, y, width, height, 0, image, 1, imagePaint);
+            NVGPaint imagePaint = imagePattern(vg, x, y, width, height, image);
             nvgRect(vg, x, y, width, height);
             nvgFillPaint(vg, imagePaint);
             nvgFill(vg);
-            imagePaint.free();
         }
     }
 
@@ -580,20 +585,82 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
 
     @Override
     public void drawImage(long vg, String filePath, float x, float y, float width, float height, int color, Class<?> clazz) {
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadImage(vg, filePath, clazz)) {
-            NVGPaint imagePaint = NVGPaint.calloc();
-            int image = assetHelper.getImage(filePath);
+        drawImageHandle(vg, loadImageHandle(vg, filePath, clazz), x, y, width, height, color);
+    }
+
+    private void drawImageHandle(long vg, int image, float x, float y, float width, float height, int color) {
+        if (image == AssetHelperImpl.PENDING) {
+            drawPlaceholder(vg, x, y, width, height, 0);
+        } else if (image != -1) {
             nvgBeginPath(vg);
-            nvgImagePattern(vg, x, y, width, height, 0, image, 1, imagePaint);
-            drawImageCommon(vg, x, y, width, height, color, imagePaint);
-            imagePaint.free();
+            drawImageCommon(vg, x, y, width, height, color, imagePattern(vg, x, y, width, height, image));
         }
     }
 
     /**
-     * <b>Important:</b> You must free {@code imagePaint} yourself!
+     * Loads an image and returns its NanoVG image handle with a single cache lookup.
+     *
+     * @return The image handle, {@link AssetHelperImpl#PENDING} while it is being decoded, or -1 if the image could
+     * not be loaded.
+     */
+    private static int loadImageHandle(long vg, String filePath, Class<?> clazz) {
+        return loadImageHandle(vg, filePath, AssetHelperImpl.DEFAULT_FLAGS, clazz);
+    }
+
+    private static int loadImageHandle(long vg, String filePath, int flags, Class<?> clazz) {
+        AssetHelper assetHelper = AssetHelper.INSTANCE;
+        if (assetHelper instanceof AssetHelperImpl) return ((AssetHelperImpl) assetHelper).loadImageHandle(vg, filePath, flags, clazz, false);
+        return assetHelper.loadImage(vg, filePath, flags, clazz) ? assetHelper.getImage(filePath) : -1;
+    }
+
+    /**
+     * Loads an SVG and returns the NanoVG image handle of its rasterization at the given size with a single cache
+     * lookup.
+     *
+     * @return The image handle, {@link AssetHelperImpl#PENDING} while it is being rasterized, or -1 if the SVG could
+     * not be loaded.
+     */
+    private static int loadSVGHandle(long vg, String filePath, float width, float height, Class<?> clazz) {
+        AssetHelper assetHelper = AssetHelper.INSTANCE;
+        if (assetHelper instanceof AssetHelperImpl) return ((AssetHelperImpl) assetHelper).loadSVGHandle(vg, filePath, width, height, AssetHelperImpl.DEFAULT_FLAGS, clazz, false);
+        return assetHelper.loadSVG(vg, filePath, width, height, clazz) ? assetHelper.getSVG(filePath, width, height) : -1;
+    }
+
+    /**
+     * Creates the paint to fill an SVG with. Built-in icons are sampled from the {@link IconAtlas}, so that drawing
+     * them does not switch textures.
+     *
+     * @return The paint, or null if the SVG could not be loaded or is still being rasterized (in which case a
+     * placeholder is drawn).
      */
+    private NVGPaint svgPattern(long vg, String filePath, float x, float y, float width, float height, float scale, Class<?> clazz) {
+        float w = width * scale;
+        float h = height * scale;
+        AssetHelper assetHelper = AssetHelper.INSTANCE;
+        if (assetHelper instanceof AssetHelperImpl) {
+            IconAtlas.Region region = ((AssetHelperImpl) assetHelper).loadAtlasRegion(vg, filePath, w, h);
+            if (region == IconAtlas.Region.PENDING) {
+                drawPlaceholder(vg, x, y, width, height, 0);
+                return null;
+            }
+            if (region != null) {
+                float scaleX = width / region.width;
+                float scaleY = height / region.height;
+                return imagePattern(vg, x - region.x * scaleX, y - region.y * scaleY, IconAtlas.SIZE * scaleX, IconAtlas.SIZE * scaleY, region.getImage());
+            }
+        }
+        int image = loadSVGHandle(vg, filePath, w, h, clazz);
+        if (image == AssetHelperImpl.PENDING) drawPlaceholder(vg, x, y, width, height, 0);
+        return image < 0 ? null : imagePattern(vg, x, y, width, height, image);
+    }
+
+    /**
+     * Drawn in place of an image or SVG that is still being decoded.
+     */
+    private void drawPlaceholder(long vg, float x, float y, float width, float height, float radius) {
+        drawRoundedRect(vg, x, y, width, height, Colors.GRAY_400_40, radius);
+    }
+
     private void drawImageCommon(long vg, float x, float y, float width, float height, int color, NVGPaint imagePaint) {
         nvgRGBA((byte) (color >> 16 & 0xFF), (byte) (color >> 8 & 0xFF), (byte) (color & 0xFF), (byte) (color >> 24 & 0xFF), imagePaint.innerColor());
         nvgRect(vg, x, y, width, height);
@@ -607,10 +674,7 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      * @see NanoVGHelperImpl#drawImage(long, String, float, float, float, float)
      */
     public void drawImage(long vg, Image image, float x, float y, float width, float height) {
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadImage(vg, image)) {
-            drawImage(vg, image.filePath, x, y, width, height, image.getClass());
-        }
+        drawImageHandle(vg, loadImageHandle(vg, image.filePath, image.flags, image.getClass()), x, y, width, height);
     }
 
     /**
@@ -620,10 +684,7 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      */
     @Override
     public void drawImage(long vg, Image image, float x, float y, float width, float height, int color) {
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadImage(vg, image)) {
-            drawImage(vg, image.filePath, x, y, width, height, color, image.getClass());
-        }
+        drawImageHandle(vg, loadImageHandle(vg, image.filePath, image.flags, image.getClass()), x, y, width, height, color);
     }
 
     /**
@@ -645,16 +706,18 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
 
     @Override
     public void drawRoundImage(long vg, String filePath, float x, float y, float width, float height, float radius, Class<?> clazz) {
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadImage(vg, filePath, clazz)) {
-            NVGPaint imagePaint = NVGPaint.calloc();
-            int image = assetHelper.getImage(filePath);
+        drawRoundImageHandle(vg, loadImageHandle(vg, filePath, clazz), x, y, width, height, radius);
+    }
+
+    private void drawRoundImageHandle(long vg, int image, float x, float y, float width, float height, float radius) {
+        if (image == AssetHelperImpl.PENDING) {
+            drawPlaceholder(vg, x, y, width, height, radius);
+        } else if (image != -1) {
             nvgBeginPath(vg);
-            nvgImagePattern(vg, x, y, width, height, 0, image, 1, imagePaint);
+            NVGPaint imagePaint = imagePattern(vg, x, y, width, height, image);
             nvgRoundedRect(vg, x, y, width, height, radius);
             nvgFillPaint(vg, imagePaint);
             nvgFill(vg);
-            imagePaint.free();
         }
     }
 
@@ -666,9 +729,7 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
     @Override
     @Deprecated
     public void drawRoundImage(long vg, Image image, float x, float y, float width, float height, float radius) {
-        if (AssetHelper.INSTANCE.loadImage(vg, image)) {
-            drawRoundImage(vg, image.filePath, x, y, width, height, radius, image.getClass());
-        }
+        drawRoundImageHandle(vg, loadImageHandle(vg, image.filePath, image.flags, image.getClass()), x, y, width, height, radius);
     }
 
     /**
@@ -682,10 +743,15 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      */
     @Override
     public float getTextWidth(long vg, String text, float fontSize, Font font) {
-        float[] bounds = new float[4];
+        // set even when cached, as callers may draw with this font state afterwards
         nvgFontSize(vg, fontSize);
         nvgFontFace(vg, font.getName());
-        return nvgTextBounds(vg, 0, 0, text, bounds);
+        float[] width = TextMetricsCache.get(text, font.getName(), fontSize, TextMetricsCache.NO_WRAP, TextMetricsCache.NO_LINE_HEIGHT);
+        if (width == null) {
+            width = new float[]{nvgTextBounds(vg, 0, 0, text, new float[4])};
+            TextMetricsCache.put(text, font.getName(), fontSize, TextMetricsCache.NO_WRAP, TextMetricsCache.NO_LINE_HEIGHT, width);
+        }
+        return width[0];
     }
 
     /**
@@ -704,11 +770,9 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         nvgBeginPath(vg);
         nvgMoveTo(vg, x, y);
         nvgLineTo(vg, endX, endY);
-        NVGColor nvgColor = color(vg, color);
-        nvgStrokeColor(vg, nvgColor);
+        nvgStrokeColor(vg, fillColor(vg, color));
         nvgStrokeWidth(vg, width);
         nvgStroke(vg);
-        nvgColor.free();
     }
 
     /**
@@ -726,22 +790,19 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      */
     @Override
     public void drawDropShadow(long vg, float x, float y, float w, float h, float blur, float spread, float cornerRadius) {
-        try (NVGPaint shadowPaint = NVGPaint.calloc();  // allocating memory to pass color to nanovg wrapper
-             NVGColor firstColor = NVGColor.calloc();  // allocating memory to pass color to nanovg wrapper
-             NVGColor secondColor = NVGColor.calloc()  // allocating memory to pass color to nanovg wrapper
-        ) {
-            fillNVGColorWithRGBA(0, 0, 0, 0.5f, firstColor); // filling allocated memory
-            fillNVGColorWithRGBA(0, 0, 0, 0, secondColor); // filling allocated memory
-
-            // creating gradient and put it to shadowPaint
-            nvgBoxGradient(vg, x - spread, y - spread, w + 2 * spread, h + 2 * spread, cornerRadius + spread, blur, firstColor, secondColor, shadowPaint);
-            nvgBeginPath(vg);
-            nvgRoundedRect(vg, x - spread - blur, y - spread - blur, w + 2 * spread + 2 * blur, h + 2 * spread + 2 * blur, cornerRadius + spread);
-            nvgRoundedRect(vg, x, y, w, h, cornerRadius);
-            nvgPathWinding(vg, NVG_HOLE);
-            nvgFillPaint(vg, shadowPaint);
-            nvgFill(vg);
-        }
+        NVGColor firstColor = pooledColor();
+        NVGColor secondColor = pooledSecondaryColor();
+        fillNVGColorWithRGBA(0, 0, 0, 0.5f, firstColor);
+        fillNVGColorWithRGBA(0, 0, 0, 0, secondColor);
+
+        // creating gradient and put it to shadowPaint
+        NVGPaint shadowPaint = nvgBoxGradient(vg, x - spread, y - spread, w + 2 * spread, h + 2 * spread, cornerRadius + spread, blur, firstColor, secondColor, pooledPaint());
+        nvgBeginPath(vg);
+        nvgRoundedRect(vg, x - spread - blur, y - spread - blur, w + 2 * spread + 2 * blur, h + 2 * spread + 2 * blur, cornerRadius + spread);
+        nvgRoundedRect(vg, x, y, w, h, cornerRadius);
+        nvgPathWinding(vg, NVG_HOLE);
+        nvgFillPaint(vg, shadowPaint);
+        nvgFill(vg);
     }
 
     /**
@@ -766,7 +827,7 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
      *
      * @param vg    The NanoVG context.
      * @param color The color.
-     * @return The {@link NVGColor} created.
+     * @return The {@link NVGColor} created. The caller is responsible for freeing it.
      */
     @Override
     public NVGColor color(long vg, int color) {
@@ -776,6 +837,59 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
         return nvgColor;
     }
 
+    /**
+     * Sets the fill color of the context using the pooled {@link NVGColor}, so that the draw primitives
+     * do not allocate off-heap memory.
+     *
+     * @param vg    The NanoVG context.
+     * @param color The color.
+     * @return The pooled {@link NVGColor}. It is only valid until the next draw call, and must not be freed.
+     */
+    private NVGColor fillColor(long vg, int color) {
+        NVGColor nvgColor = rgba(color, pooledColor());
+        nvgFillColor(vg, nvgColor);
+        return nvgColor;
+    }
+
+    /**
+     * Creates a linear gradient in the pooled {@link NVGPaint}.
+     */
+    private NVGPaint linearGradient(long vg, float sx, float sy, float ex, float ey, int color, int color2) {
+        return nvgLinearGradient(vg, sx, sy, ex, ey, rgba(color, pooledColor()), rgba(color2, pooledSecondaryColor()), pooledPaint());
+    }
+
+    /**
+     * Creates an image pattern in the pooled {@link NVGPaint}.
+     */
+    private NVGPaint imagePattern(long vg, float x, float y, float width, float height, int image) {
+        return nvgImagePattern(vg, x, y, width, height, 0, image, 1, pooledPaint());
+    }
+
+    private static NVGColor rgba(int color, NVGColor nvgColor) {
+        return nvgRGBA((byte) (color >> 16 & 0xFF), (byte) (color >> 8 & 0xFF), (byte) (color & 0xFF), (byte) (color >> 24 & 0xFF), nvgColor);
+    }
+
+    // NanoVG copies colors and paints into its own state as soon as they are set, so the same structs can be
+    // reused by every draw call. Drawing only ever happens on the render thread, so no synchronization is needed.
+
+    private NVGColor pooledColor() {
+        if (primaryColor == null) primaryColor = NVGColor.calloc();
+        NanoVGStats.onStructReused();
+        return primaryColor;
+    }
+
+    private NVGColor pooledSecondaryColor() {
+        if (secondaryColor == null) secondaryColor = NVGColor.calloc();
+        NanoVGStats.onStructReused();
+        return secondaryColor;
+    }
+
+    private NVGPaint pooledPaint() {
+        if (paint == null) paint = NVGPaint.calloc();
+        NanoVGStats.onStructReused();
+        return paint;
+    }
+
     /**
      * Scales all rendering by the provided scale.
      *
@@ -850,18 +964,12 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
 
     @Override
     public void drawSvg(long vg, String filePath, float x, float y, float width, float height, float scale, Class<?> clazz) {
-        float w = width * scale;
-        float h = height * scale;
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadSVG(vg, filePath, w, h, clazz)) {
-            NVGPaint imagePaint = NVGPaint.calloc();
-            int image = assetHelper.getSVG(filePath, w, h);
+        NVGPaint imagePaint = svgPattern(vg, filePath, x, y, width, height, scale, clazz);
+        if (imagePaint != null) {
             nvgBeginPath(vg);
-            nvgImagePattern(vg, x, y, width, height, 0, image, 1, imagePaint);
             nvgRect(vg, x, y, width, height);
             nvgFillPaint(vg, imagePaint);
             nvgFill(vg);
-            imagePaint.free();
         }
     }
 
@@ -916,16 +1024,10 @@ public final class NanoVGHelperImpl implements NanoVGHelper {
 
     @Override
     public void drawSvg(long vg, String filePath, float x, float y, float width, float height, int color, float scale, Class<?> clazz) {
-        float w = width * scale;
-        float h = height * scale;
-        AssetHelper assetHelper = AssetHelper.INSTANCE;
-        if (assetHelper.loadSVG(vg, filePath, w, h, clazz)) {
-            NVGPaint imagePaint = NVGPaint.calloc();
-            int image = assetHelper.getSVG(filePath, w, h);
+        NVGPaint imagePaint = svgPattern(vg, filePath, x, y, width, height, scale, clazz);
+        if (imagePaint != null) {
             nvgBeginPath(vg);
-            nvgImagePattern(vg, x, y, width, height, 0, image, 1, imagePaint);
             drawImageCommon(vg, x, y, width, height, color, imagePaint);
-            imagePaint.free();
         }
     }
 
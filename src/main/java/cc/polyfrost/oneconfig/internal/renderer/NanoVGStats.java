@@ -0,0 +1,99 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.renderer;
+
+/**
+ * Counters for the NanoVG renderer.
+ * <p>
+ * This class is deliberately kept outside the isolated LWJGL classloader, so that the numbers recorded by
+ * {@link NanoVGHelperImpl} can be read from the rest of OneConfig.
+ */
+public final class NanoVGStats {
+    private static long reusedStructs = 0;
+    private static long assetHits = 0;
+    private static long assetMisses = 0;
+    private static long assetEvictions = 0;
+
+    private NanoVGStats() {
+    }
+
+    /**
+     * Called by the renderer whenever a pooled NanoVG struct is used instead of allocating (and freeing) a new one.
+     */
+    public static void onStructReused() {
+        reusedStructs++;
+    }
+
+    /**
+     * @return the number of off-heap struct allocations that were avoided by reusing pooled structs.
+     */
+    public static long getReusedStructs() {
+        return reusedStructs;
+    }
+
+    /**
+     * Called by {@link AssetHelperImpl} whenever an image or SVG is found in its cache.
+     */
+    public static void onAssetHit() {
+        assetHits++;
+    }
+
+    /**
+     * Called by {@link AssetHelperImpl} whenever an image or SVG has to be loaded because it is not in its cache.
+     */
+    public static void onAssetMiss() {
+        assetMisses++;
+    }
+
+    /**
+     * Called by {@link AssetHelperImpl} whenever a texture is evicted from its cache to stay within its memory budget.
+     */
+    public static void onAssetEvicted() {
+        assetEvictions++;
+    }
+
+    /**
+     * @return the number of asset lookups that were served from the cache.
+     */
+    public static long getAssetHits() {
+        return assetHits;
+    }
+
+    /**
+     * @return the number of asset lookups that had to load the asset.
+     */
+    public static long getAssetMisses() {
+        return assetMisses;
+    }
+
+    /**
+     * @return the number of textures that were evicted from the asset cache.
+     */
+    public static long getAssetEvictions() {
+        return assetEvictions;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.renderer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of NanoVG text measurements, so that text layout does not have to be redone
+ * every frame for strings that did not change.
+ * <p>
+ * Entries are keyed by (text, font, size, wrap width, line height). Single-line measurements use a wrap width of
+ * {@link #NO_WRAP} and, as the line height does not affect them, a line height of {@link #NO_LINE_HEIGHT}. Wrapped
+ * measurements always use the line height that is in effect on the NanoVG context.
+ * The cache is cleared whenever fonts are (re)loaded, see {@link FontHelperImpl}.
+ * <p>
+ * Measuring text requires a NanoVG context, so this is only ever accessed from the render thread.
+ * This class is kept outside the isolated LWJGL classloader so that every helper implementation shares one instance.
+ */
+public final class TextMetricsCache {
+    public static final float NO_WRAP = -1f;
+    public static final float NO_LINE_HEIGHT = Float.NaN;
+    private static final int MAX_ENTRIES = 2048;
+
+    private static final LinkedHashMap<Key, float[]> cache = new LinkedHashMap<Key, float[]>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, float[]> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    /**
+     * Reused for lookups, so that cache hits do not allocate.
+     */
+    private static final Key lookupKey = new Key();
+
+    private TextMetricsCache() {
+    }
+
+    /**
+     * @return the cached measurement, or null if the text has not been measured with these parameters yet.
+     */
+    public static float[] get(String text, String font, float size, float wrapWidth, float lineHeight) {
+        return cache.get(lookupKey.set(text, font, size, wrapWidth, lineHeight));
+    }
+
+    public static void put(String text, String font, float size, float wrapWidth, float lineHeight, float[] metrics) {
+        cache.put(new Key().set(text, font, size, wrapWidth, lineHeight), metrics);
+    }
+
+    /**
+     * Removes every cached measurement. Called when fonts are (re)loaded, as measurements depend on the font data.
+     */
+    public static void invalidate() {
+        cache.clear();
+    }
+
+    private static final class Key {
+        private String text;
+        private String font;
+        private int size;
+        private int wrapWidth;
+        private int lineHeight;
+        private int hash;
+
+        private Key set(String text, String font, float size, float wrapWidth, float lineHeight) {
+            this.text = text;
+            this.font = font;
+            this.size = Float.floatToIntBits(size);
+            this.wrapWidth = Float.floatToIntBits(wrapWidth);
+            this.lineHeight = Float.floatToIntBits(lineHeight);
+            int h = text.hashCode();
+            h = 31 * h + font.hashCode();
+            h = 31 * h + this.size;
+            h = 31 * h + this.wrapWidth;
+            h = 31 * h + this.lineHeight;
+            this.hash = h;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return size == key.size && wrapWidth == key.wrapWidth && lineHeight == key.lineHeight
+                    && text.equals(key.text) && font.equals(key.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
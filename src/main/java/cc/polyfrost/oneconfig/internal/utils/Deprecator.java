@@ -29,43 +29,213 @@ package cc.polyfrost.oneconfig.internal.utils;
 import cc.polyfrost.oneconfig.utils.LogScanner;
 import cc.polyfrost.oneconfig.utils.Notifications;
 
-import java.util.HashSet;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Class used by OneConfig for deprecation related utilities.
  */
 public final class Deprecator {
-    private static final Set<String> warned = new HashSet<>();
+    private static final Set<String> warned = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /**
+     * The (culprit, deprecated method) pairs that were already reported, so each one is only logged once.
+     */
+    private static final Set<String> handledCalls = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    /**
+     * The deprecated methods (see {@link CallSite#method}) each calling class was already attributed for, so that their
+     * calls return before any stack is captured.
+     */
+    private static final ClassValue<Set<String>> handledCallers = new ClassValue<Set<String>>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            return Collections.newSetFromMap(new ConcurrentHashMap<>());
+        }
+    };
 
     /**
      * mark a method as deprecated. When a method has this call, it will
-     * throw a new exception to grab the name (or package) of the mod that
+     * grab the stack to find the name (or package) of the mod that
      * called said method. <br>
      * This will then send a notification detailing this to the user, and
-     * throw an UnsupportedOperationException to print a stack to the log.
+     * print an UnsupportedOperationException to the log.
      */
     public static void markDeprecated() {
-        try {
-            throw new Exception("This method is deprecated");
-        } catch (Exception e) {
-            String culprit = LogScanner.identifyCallerFromStacktrace(e)
-                    .stream()
-                    .map(activeMod -> activeMod.name)
-                    .findFirst()
-                    .orElse("Unknown");
-
-            // sometimes it blames OneConfig as well so
-            if (culprit.equals("OneConfig")) return;
+        CallSite site = CallSite.resolve();
+        if (site != null && handledCallers.get(site.caller).contains(site.method)) return;
+
+        // 0 is CallStack.capture, 1 is this method, 2 is the deprecated method
+        StackTraceElement[] stack = CallStack.capture();
+        if (stack.length < 3) return;
+        DeprecatedCall call = new DeprecatedCall(Arrays.copyOfRange(stack, 1, stack.length));
+        String culprit = LogScanner.identifyCallerFromStacktrace(call)
+                .stream()
+                .map(activeMod -> activeMod.name)
+                .findFirst()
+                .orElse("Unknown");
 
+        String method = stack[2].getClassName() + "." + stack[2].getMethodName();
+        // sometimes it blames OneConfig as well so
+        if (!culprit.equals("OneConfig") && handledCalls.add(culprit + " " + method)) {
             if (warned.add(culprit)) {
                 Notifications.INSTANCE.send("Deprecation Warning", "The mod '" + culprit + "' is using a deprecated method, and will no longer work in the future. Please report this to the mod author.");
+            }
+            UnsupportedOperationException e = new UnsupportedOperationException("Method " + method + "() is deprecated; but is still being used by mod " + culprit + "!");
+            e.setStackTrace(call.getStackTrace());
+            e.printStackTrace();
+        }
+        // only once the culprit is known, so that failed attributions are retried (the mod may not be indexed yet)
+        if (site != null && !culprit.equals("Unknown")) handledCallers.get(site.caller).add(site.method);
+    }
+
+    /**
+     * Carries frames that were already captured, without filling in the stack trace again.
+     */
+    private static final class DeprecatedCall extends Exception {
+        private DeprecatedCall(StackTraceElement[] stack) {
+            super("This method is deprecated");
+            setStackTrace(stack);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * The class calling a deprecated method, and that method. Resolved from the class context, which is much cheaper
+     * than capturing a stack trace: with {@code StackWalker} on Java 9+, and with a {@link SecurityManager} on Java 8.
+     */
+    private static final class CallSite {
+        private static final CallerResolver callerResolver = StackWalkers.walk == null ? CallerResolver.create() : null;
+        private final Class<?> caller;
+        /**
+         * The class and name of the deprecated method, or only its class on Java 8, where class contexts carry no
+         * method names.
+         */
+        private final String method;
+
+        private CallSite(Class<?> caller, String method) {
+            this.caller = caller;
+            this.method = method;
+        }
+
+        /**
+         * Has to be called directly from {@link #markDeprecated()}.
+         *
+         * @return the call site, or null if it could not be resolved
+         */
+        private static CallSite resolve() {
+            if (StackWalkers.walk != null) {
                 try {
-                    throw new UnsupportedOperationException("Method " + e.getStackTrace()[1].getClassName() + "." + e.getStackTrace()[1].getMethodName() + "() is deprecated; but is still being used by mod " + culprit + "!");
-                } catch (UnsupportedOperationException e1) {
-                    e1.printStackTrace();
+                    // 0 is this method, 1 is markDeprecated, 2 is the deprecated method, 3 is what called it
+                    Function<Stream<?>, Object[]> frames = stream -> stream.skip(2).limit(2).toArray();
+                    Object[] site = (Object[]) StackWalkers.walk.invoke(StackWalkers.walker, frames);
+                    if (site.length < 2) return null;
+                    Class<?> deprecated = (Class<?>) StackWalkers.getDeclaringClass.invoke(site[0]);
+                    String method = (String) StackWalkers.getMethodName.invoke(site[0]);
+                    return new CallSite((Class<?>) StackWalkers.getDeclaringClass.invoke(site[1]), deprecated.getName() + "." + method);
+                } catch (Throwable t) {
+                    return null;
                 }
             }
+            if (callerResolver == null) return null;
+            Class<?>[] context = callerResolver.getContext();
+            // 0 is CallerResolver, 1 is this class, 2 is Deprecator, 3 is the deprecated method, 4 is what called it
+            return context.length > 4 ? new CallSite(context[4], context[3].getName()) : null;
+        }
+    }
+
+    /**
+     * Exposes the class context on Java 8. {@link SecurityManager} is deprecated on Java 17+, where
+     * {@code StackWalker} is used instead.
+     */
+    @SuppressWarnings({"deprecation", "removal"})
+    private static final class CallerResolver extends SecurityManager {
+        private static CallerResolver create() {
+            try {
+                return new CallerResolver();
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        private Class<?>[] getContext() {
+            return getClassContext();
+        }
+    }
+
+    /**
+     * {@code StackWalker}, looked up reflectively as OneConfig is compiled for Java 8. All handles are null before Java 9.
+     */
+    private static final class StackWalkers {
+        private static final Object walker;
+        private static final MethodHandle walk;
+        private static final MethodHandle toStackTraceElement;
+        private static final MethodHandle getDeclaringClass;
+        private static final MethodHandle getMethodName;
+
+        static {
+            Object stackWalker = null;
+            MethodHandle walkHandle = null;
+            MethodHandle toElementHandle = null;
+            MethodHandle declaringClassHandle = null;
+            MethodHandle methodNameHandle = null;
+            try {
+                Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+                Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+                Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Object retainClassReference = optionClass.getMethod("valueOf", String.class).invoke(null, "RETAIN_CLASS_REFERENCE");
+                stackWalker = walkerClass.getMethod("getInstance", optionClass).invoke(null, retainClassReference);
+                toElementHandle = lookup.findVirtual(frameClass, "toStackTraceElement", MethodType.methodType(StackTraceElement.class));
+                declaringClassHandle = lookup.findVirtual(frameClass, "getDeclaringClass", MethodType.methodType(Class.class));
+                methodNameHandle = lookup.findVirtual(frameClass, "getMethodName", MethodType.methodType(String.class));
+                walkHandle = lookup.findVirtual(walkerClass, "walk", MethodType.methodType(Object.class, Function.class));
+            } catch (Throwable ignored) {
+                walkHandle = null;
+            }
+            walker = stackWalker;
+            walk = walkHandle;
+            toStackTraceElement = toElementHandle;
+            getDeclaringClass = declaringClassHandle;
+            getMethodName = methodNameHandle;
+        }
+    }
+
+    /**
+     * Captures the innermost frames of the current thread. Uses {@code StackWalker} where it is available (Java 9+),
+     * which only walks the frames it needs, and falls back to a stack trace otherwise.
+     */
+    private static final class CallStack {
+        private static final int MAX_DEPTH = 32;
+
+        private static StackTraceElement[] capture() {
+            if (StackWalkers.walk != null) {
+                try {
+                    Function<Stream<?>, StackTraceElement[]> frames = stream -> stream.limit(MAX_DEPTH)
+                            .map(CallStack::toElement)
+                            .toArray(StackTraceElement[]::new);
+                    return (StackTraceElement[]) StackWalkers.walk.invoke(StackWalkers.walker, frames);
+                } catch (Throwable ignored) {
+                }
+            }
+            return new Throwable().getStackTrace();
+        }
+
+        private static StackTraceElement toElement(Object frame) {
+            try {
+                return (StackTraceElement) StackWalkers.toStackTraceElement.invoke(frame);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
         }
     }
 }
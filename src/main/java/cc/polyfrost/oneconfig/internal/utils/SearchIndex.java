@@ -0,0 +1,217 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.internal.utils;
+
+import cc.polyfrost.oneconfig.config.elements.BasicOption;
+import cc.polyfrost.oneconfig.config.elements.OptionCategory;
+import cc.polyfrost.oneconfig.config.elements.OptionPage;
+import cc.polyfrost.oneconfig.config.elements.OptionSubcategory;
+import cc.polyfrost.oneconfig.gui.elements.config.ConfigPageButton;
+import cc.polyfrost.oneconfig.internal.config.Preferences;
+import cc.polyfrost.oneconfig.utils.SearchUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed index of every searchable String in the OneConfig GUI (mod names, option names, categories...).
+ * <p>
+ * Matches exactly like {@link SearchUtils#isSimilar(String, String, int)}, but the candidates are normalized once
+ * when they are indexed, and every word (as well as the whole String) is stored in a BK-tree so that edit-distance
+ * matching does not have to compare the query against every candidate. The matches for a query are computed once,
+ * and then looked up until the query (or the index) changes.
+ * <p>
+ * Option pages are only queued when configs are initialized, and indexed the first time the index is queried,
+ * so that building the index does not slow down startup.
+ */
+public final class SearchIndex {
+    private static final int MAX_CACHED_QUERIES = 4;
+
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static final List<OptionPage> pendingPages = new ArrayList<>();
+    private static Node root;
+    private static int cachedDistance = -1;
+    private static final LinkedHashMap<String, Set<String>> results = new LinkedHashMap<String, Set<String>>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+
+    private SearchIndex() {
+    }
+
+    /**
+     * Add every searchable String of an option page to the index, the next time it is queried.
+     */
+    public static synchronized void addPage(OptionPage page) {
+        pendingPages.add(page);
+    }
+
+    private static void indexPendingPages() {
+        for (OptionPage page : pendingPages) indexPage(page);
+        pendingPages.clear();
+    }
+
+    private static void indexPage(OptionPage page) {
+        for (Map.Entry<String, OptionCategory> category : page.categories.entrySet()) {
+            add(category.getKey());
+            for (OptionSubcategory subcategory : category.getValue().subcategories) {
+                add(subcategory.getName());
+                for (BasicOption option : subcategory.options) {
+                    add(option.name);
+                }
+                for (ConfigPageButton button : subcategory.topButtons) {
+                    add(button.name);
+                    add(button.description);
+                }
+                for (ConfigPageButton button : subcategory.bottomButtons) {
+                    add(button.name);
+                    add(button.description);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a String to the index.
+     */
+    public static synchronized void add(String text) {
+        if (text == null || entries.containsKey(text)) return;
+        Entry entry = new Entry(text, text.toLowerCase(Locale.ENGLISH));
+        entries.put(text, entry);
+        insert(entry.text, entry);
+        for (String token : StringUtils.split(entry.text)) {
+            insert(token, entry);
+        }
+        results.clear();
+    }
+
+    /**
+     * @see SearchUtils#isSimilar(String, String)
+     */
+    public static boolean isSimilar(String text, String query) {
+        return isSimilar(text, query, Preferences.searchDistance);
+    }
+
+    /**
+     * Indexed version of {@link SearchUtils#isSimilar(String, String, int)}.
+     * Strings that have not been indexed yet are added to the index.
+     *
+     * @param text           the String to check
+     * @param query          the search query
+     * @param searchDistance the maximum edit distance
+     */
+    public static synchronized boolean isSimilar(String text, String query, int searchDistance) {
+        if (!pendingPages.isEmpty()) indexPendingPages();
+        if (!entries.containsKey(text)) add(text);
+        if (searchDistance != cachedDistance) {
+            results.clear();
+            cachedDistance = searchDistance;
+        }
+        Set<String> matches = results.get(query);
+        if (matches == null) {
+            matches = search(query.toLowerCase(Locale.ENGLISH), searchDistance);
+            results.put(query, matches);
+        }
+        return matches.contains(text);
+    }
+
+    private static Set<String> search(String query, int searchDistance) {
+        Set<String> matches = new HashSet<>();
+        for (Entry entry : entries.values()) {
+            if (entry.text.contains(query)) matches.add(entry.original);
+        }
+        if (root == null) return matches;
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            int distance = StringUtils.getLevenshteinDistance(node.key, query);
+            if (distance <= searchDistance) {
+                for (Entry entry : node.entries) {
+                    // Short Strings are only ever matched by containing the query
+                    if (entry.text.length() > searchDistance) matches.add(entry.original);
+                }
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= searchDistance) queue.add(child.getValue());
+            }
+        }
+        return matches;
+    }
+
+    private static void insert(String key, Entry entry) {
+        if (root == null) {
+            root = new Node(key);
+        }
+        Node node = root;
+        while (true) {
+            int distance = StringUtils.getLevenshteinDistance(node.key, key);
+            if (distance == 0) {
+                node.entries.add(entry);
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                child = new Node(key);
+                child.entries.add(entry);
+                node.children.put(distance, child);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    private static final class Entry {
+        private final String original;
+        private final String text;
+
+        private Entry(String original, String text) {
+            this.original = original;
+            this.text = text;
+        }
+    }
+
+    private static final class Node {
+        private final String key;
+        private final List<Entry> entries = new ArrayList<>(1);
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -62,15 +62,21 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.CodeSource;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Adapted from <a href="https://github.com/natanfudge/Not-Enough-Crashes">NotEnoughCrashes</a> under the <a href="https://opensource.org/licenses/MIT">MIT License</a>
  */
 public class LogScanner {
     static final Logger LOGGER = LogManager.getLogger("OneConfig Log Scanner");
+    /**
+     * The mods blamed for every class identified so far. Classes no mod was found for are not kept.
+     */
+    private static final Map<String, Set<LoaderPlatform.ActiveMod>> classMods = new ConcurrentHashMap<>();
+    private static volatile Map<Path, Set<LoaderPlatform.ActiveMod>> modsBySource = Collections.emptyMap();
+    private static volatile int indexedMods = -1;
 
     /**
      * Return a set of ActiveMods that have been blamed for the given stacktrace.
@@ -152,14 +158,24 @@ public class LogScanner {
      */
     @NotNull
     public static Set<LoaderPlatform.ActiveMod> identifyFromClass(String className) {
-        List<LoaderPlatform.ActiveMod> modMap = Platform.getLoaderPlatform().getLoadedMods();
-        modMap.removeIf(Objects::isNull);
         // Skip identification for Mixin, one's mod copy of the library is shared with all other mods
         if (className.startsWith("org.spongepowered.asm.mixin.")) {
             debug(() -> "Ignoring class " + className + " for identification because it is a mixin class");
             return Collections.emptySet();
         }
+        Set<LoaderPlatform.ActiveMod> mods = classMods.get(className);
+        if (mods == null) {
+            mods = identifyFromClassUncached(className);
+            // misses are not cached, the mod of the class may just not be indexed yet
+            if (mods.isEmpty()) return Collections.emptySet();
+            mods = Collections.unmodifiableSet(mods);
+            classMods.put(className, mods);
+        }
+        return mods;
+    }
 
+    @NotNull
+    private static Set<LoaderPlatform.ActiveMod> identifyFromClassUncached(String className) {
         try {
             // Get the URL of the class (don't initialize classes, though)
             Class<?> clazz = Class.forName(className, false, LogScanner.class.getClassLoader());
@@ -184,7 +200,7 @@ public class LogScanner {
                 LOGGER.error("Class: " + className);
                 return Collections.singleton(new LoaderPlatform.ActiveMod("this", "this", "Unknown", null));
             }
-            Set<LoaderPlatform.ActiveMod> mods = getModsAt(Paths.get(url.toURI()), modMap);
+            Set<LoaderPlatform.ActiveMod> mods = getModsAt(Paths.get(url.toURI()));
             if (!mods.isEmpty()) {
                 //noinspection OptionalGetWithoutIsPresent
                 debug(() -> "Successfully placed blame of '" + className + "' on '"
@@ -198,8 +214,8 @@ public class LogScanner {
     }
 
     @NotNull
-    private static Set<LoaderPlatform.ActiveMod> getModsAt(Path path, List<LoaderPlatform.ActiveMod> modMap) {
-        Set<LoaderPlatform.ActiveMod> mods = modMap.stream().filter(m -> m.source.equals(path)).collect(Collectors.toSet());
+    private static Set<LoaderPlatform.ActiveMod> getModsAt(Path path) {
+        Set<LoaderPlatform.ActiveMod> mods = getModsBySource(path);
         if (!mods.isEmpty()) return mods;
         else if (Platform.getInstance().isDevelopmentEnvironment()) {
             // For some reason, in dev, the mod being tested has the 'resources' folder as the origin instead of the 'classes' folder.
@@ -209,12 +225,35 @@ public class LogScanner {
                     .replace("common/build/classes/kotlin/main", "fabric/build/resources/main")
                     .replace("classes/java/main", "resources/main")
                     .replace("classes/kotlin/main", "resources/main");
-            Path resourcesPath = Paths.get(resourcesPathString);
-            return modMap.stream().filter(m -> m.source.equals(resourcesPath)).collect(Collectors.toSet());
+            return getModsBySource(Paths.get(resourcesPathString));
         } else {
             debug(() -> "Mod at path '" + path.toAbsolutePath() + "' is at fault," +
                     " but it could not be found in the map of mod paths: " /*+ modMap*/);
             return Collections.emptySet();
         }
     }
+
+    /**
+     * Look up the mods loaded from the given path. The index is rebuilt when nothing is found and mods were loaded
+     * since it was last built.
+     */
+    @NotNull
+    private static Set<LoaderPlatform.ActiveMod> getModsBySource(Path path) {
+        Set<LoaderPlatform.ActiveMod> mods = modsBySource.get(path);
+        if (mods != null) return new HashSet<>(mods);
+        List<LoaderPlatform.ActiveMod> modList = Platform.getLoaderPlatform().getLoadedMods();
+        modList.removeIf(Objects::isNull);
+        if (modList.size() != indexedMods) {
+            Map<Path, Set<LoaderPlatform.ActiveMod>> index = new HashMap<>();
+            for (LoaderPlatform.ActiveMod mod : modList) {
+                if (mod.source == null) continue;
+                index.computeIfAbsent(mod.source, source -> new HashSet<>()).add(mod);
+            }
+            modsBySource = index;
+            indexedMods = modList.size();
+            mods = index.get(path);
+            if (mods != null) return new HashSet<>(mods);
+        }
+        return new HashSet<>();
+    }
 }
@@ -227,6 +227,7 @@ public final class Notifications {
         send(title, message, (Callable<Float>) null);
     }
 
+    private static final SimpleProfiler.Section PROFILER_SECTION = SimpleProfiler.getSection("notifications");
     private float deltaTime = 0;
 
     @Subscribe
@@ -236,6 +237,7 @@ public final class Notifications {
             return;
         }
         if (notifications.size() == 0) return;
+        long start = PROFILER_SECTION.start();
         NanoVGHelper.INSTANCE.setupAndDraw((vg) -> {
             float desiredPosition = -16f;
             float scale = OneConfigGui.getScaleFactor();
@@ -249,6 +251,7 @@ public final class Notifications {
             }
             notifications.entrySet().removeIf(entry -> entry.getKey().isFinished());
         });
+        PROFILER_SECTION.stop(start);
         deltaTime = 0;
     }
 
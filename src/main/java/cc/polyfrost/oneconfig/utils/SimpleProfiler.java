@@ -5,14 +5,24 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A simple class that can be used to profile code.
+ * <p>
+ * Besides the one-off {@link #push(String)} / {@link #pop(String)} timers, it keeps named {@link Section}s that
+ * can be timed every frame without allocating. Sections only record while {@link #isSampling() sampling} is enabled.
  */
 public final class SimpleProfiler {
     static final HashMap<String, Long> startTimes = new HashMap<>();
     static final Logger LOGGER = LogManager.getLogger("OneConfig Profiler");
+    private static final Map<String, Section> sections = new ConcurrentHashMap<>();
+    private static volatile boolean sampling = false;
 
     /**
      * Push a profiler start time to the map. <br>
@@ -51,4 +61,155 @@ public final class SimpleProfiler {
         LOGGER.log(level, msg + " took " + time + "ms");
         return time;
     }
+
+    /**
+     * Get the section with the given name, creating it if it does not exist yet. <br>
+     * Look a section up once and keep it in a field, instead of looking it up every time it is timed.
+     *
+     * @param name the name of the section, for example {@code hud/MyConfig.myHud}
+     * @return the section.
+     * @see Section#start()
+     */
+    public static Section getSection(@NotNull final String name) {
+        return sections.computeIfAbsent(name, Section::new);
+    }
+
+    /**
+     * @return all sections that have been created so far.
+     */
+    public static Collection<Section> getSections() {
+        return Collections.unmodifiableCollection(sections.values());
+    }
+
+    /**
+     * @return whether sections are currently recording samples.
+     */
+    public static boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * Start or stop recording samples for all sections.
+     *
+     * @param sampling whether sections should record samples.
+     */
+    public static void setSampling(boolean sampling) {
+        SimpleProfiler.sampling = sampling;
+    }
+
+    /**
+     * Clear the samples of all sections.
+     */
+    public static void reset() {
+        for (Section section : sections.values()) section.reset();
+    }
+
+    /**
+     * Print the statistics of every section that has samples to the log, slowest (by p99) first, in the format: <br>
+     * {@code [OneConfig Profiler/<level>] <name>: p50 <time>ms, p99 <time>ms, max <time>ms (<samples> samples)}
+     *
+     * @param level the log level to use.
+     */
+    public static void dump(@NotNull Level level) {
+        Section[] sorted = sections.values().toArray(new Section[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(b.getPercentile(0.99), a.getPercentile(0.99)));
+        for (Section section : sorted) {
+            if (section.getSampleCount() > 0) LOGGER.log(level, section.toString());
+        }
+    }
+
+    /**
+     * A named timer that keeps the durations of its last {@link #SAMPLE_COUNT} runs in a ring buffer.
+     * <pre>{@code
+     * long start = SECTION.start();
+     * draw();
+     * SECTION.stop(start);
+     * }</pre>
+     */
+    public static final class Section {
+        /**
+         * The amount of samples kept per section.
+         */
+        public static final int SAMPLE_COUNT = 512;
+        private final String name;
+        private final long[] samples = new long[SAMPLE_COUNT];
+        private int next = 0;
+        private int count = 0;
+
+        private Section(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the start time to pass to {@link #stop(long)}, or 0 if the profiler is not sampling.
+         */
+        public long start() {
+            return sampling ? System.nanoTime() : 0L;
+        }
+
+        /**
+         * Record the time since {@link #start()} was called.
+         *
+         * @param start the value returned by {@link #start()}.
+         */
+        public void stop(long start) {
+            if (start != 0L && sampling) record(System.nanoTime() - start);
+        }
+
+        /**
+         * Record a sample.
+         *
+         * @param nanos the duration in nanoseconds.
+         */
+        public synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLE_COUNT;
+            if (count < SAMPLE_COUNT) count++;
+        }
+
+        /**
+         * Clear all samples.
+         */
+        public synchronized void reset() {
+            next = 0;
+            count = 0;
+        }
+
+        /**
+         * @return the name of this section.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the amount of samples currently in the buffer.
+         */
+        public synchronized int getSampleCount() {
+            return count;
+        }
+
+        /**
+         * Get a percentile of the recorded samples, using the nearest-rank method.
+         *
+         * @param percentile the percentile, from 0 to 1. For example, 0.99 for the p99.
+         * @return the percentile in nanoseconds, or 0 if there are no samples.
+         */
+        public long getPercentile(double percentile) {
+            long[] sorted;
+            synchronized (this) {
+                if (count == 0) return 0L;
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: p50 %.3fms, p99 %.3fms, max %.3fms (%d samples)", name,
+                    getPercentile(0.5) / 1000000f, getPercentile(0.99) / 1000000f, getPercentile(1) / 1000000f, getSampleCount());
+        }
+    }
 }
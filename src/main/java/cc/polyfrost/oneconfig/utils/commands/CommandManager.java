@@ -35,9 +35,11 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -185,6 +187,7 @@ public class CommandManager {
     protected class OCCommand {
         final Map<InternalCommand, String[]> commandsMap = new HashMap<>();
         final String[] helpCommand;
+        final CommandTrie trie;
         private final Command meta;
         InternalCommand mainMethod;
 
@@ -205,6 +208,7 @@ public class CommandManager {
 
                 if (meta.customHelpMessage().length == 0) helpCommand = genHelpCommand();
                 else helpCommand = meta.customHelpMessage();
+                trie = new CommandTrie(commandsMap);
 
             } else {
                 throw new IllegalArgumentException("Master command class " + cls.getSimpleName() + " is not annotated with @Command!");
@@ -339,6 +343,14 @@ public class CommandManager {
         private final String[] aliases, paths;
         private final boolean hasHelp;
         private final Object parent;
+        private final ArgumentParser<?>[] argumentParsers;
+        private final int parameterCount;
+        private final boolean greedy;
+        /**
+         * Invoker of the form {@code (Object[])void}, bound to {@link #parent} and compiled once here so
+         * that running the command does not go through {@link Method#invoke}.
+         */
+        private final MethodHandle invoker;
 
         private InternalCommand(Object parent, @NotNull Method methodIn, String[] paths) {
             this.parent = parent;
@@ -362,8 +374,10 @@ public class CommandManager {
 
             // check parameters
             int i = 0;
+            argumentParsers = new ArgumentParser<?>[method.getParameterCount()];
             for (Parameter parameter : method.getParameters()) {
-                if (!parsers.containsKey(parameter.getType())) {
+                argumentParsers[i] = parsers.get(parameter.getType());
+                if (argumentParsers[i] == null) {
                     throw new IllegalArgumentException("Method " + method.getName() + " has a parameter of class " +
                             parameter.getType().getSimpleName() + " which does not have a valid parser; see CommandManager.addParser");
                 }
@@ -373,6 +387,18 @@ public class CommandManager {
                 }
                 i++;
             }
+            this.parameterCount = argumentParsers.length;
+            this.greedy = parameterCount != 0 && method.getParameters()[parameterCount - 1].isAnnotationPresent(Greedy.class);
+
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                if (!Modifier.isStatic(method.getModifiers())) handle = handle.bindTo(parent);
+                this.invoker = handle.asType(handle.type().generic())
+                        .asSpreader(Object[].class, parameterCount)
+                        .asType(MethodType.methodType(void.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Method " + method.getName() + " could not be accessed", e);
+            }
         }
 
         @Nullable
@@ -380,30 +406,27 @@ public class CommandManager {
             try {
                 // main method
                 if (argsIn == null) {
-                    method.invoke(parent);
+                    invokeMethod(new Object[0]);
                     return null;
                 }
-                if ((argsIn.length != method.getParameterCount()) && (method.getParameterCount() == 0 || !method.getParameters()[method.getParameterCount() - 1].isAnnotationPresent(Greedy.class))) {
-                    return ChatColor.RED + "Incorrect number of parameters, expected " + method.getParameterCount() + " but got " + argsIn.length;
+                if (argsIn.length != parameterCount && !greedy) {
+                    return ChatColor.RED + "Incorrect number of parameters, expected " + parameterCount + " but got " + argsIn.length;
                 }
-                return invokeWith(method, argsIn);
+                return invokeWith(argsIn);
             } catch (Exception e) {
                 e.printStackTrace();
                 return ChatColor.RED + METHOD_RUN_ERROR.replace("@ROOT_COMMAND@", getName());
             }
         }
 
-        private String invokeWith(Method method, String[] argsIn) throws InvocationTargetException, IllegalAccessException {
-            Object[] args = new Object[method.getParameterCount()];
-            Parameter[] parameters = method.getParameters();
-            int i = 0;
-            for (Parameter parameter : parameters) {
+        private String invokeWith(String[] argsIn) throws InvocationTargetException {
+            Object[] args = new Object[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
                 try {
-                    if (i == args.length - 1 && parameter.isAnnotationPresent(Greedy.class)) {
-                        // I love streams
-                        args[i] = Arrays.stream(argsIn).skip(i).collect(Collectors.joining(" "));
+                    if (greedy && i == parameterCount - 1) {
+                        args[i] = String.join(" ", Arrays.asList(argsIn).subList(i, argsIn.length));
                     } else {
-                        args[i] = parsers.get(parameter.getType()).parse(argsIn[i]);
+                        args[i] = argumentParsers[i].parse(argsIn[i]);
                     }
                 } catch (NumberFormatException ne) {
                     return ChatColor.RED + "Error while parsing parameter '" + argsIn[i] + "': " + "Parameter should be a number!";
@@ -411,12 +434,22 @@ public class CommandManager {
                     e.printStackTrace();
                     return ChatColor.RED + "Error while parsing parameter '" + argsIn[i] + "': " + e.getMessage();
                 }
-                i++;
             }
-            method.invoke(parent, args);
+            invokeMethod(args);
             return null;
         }
 
+        /**
+         * Runs the command method, wrapping anything it throws the same way {@link Method#invoke} would.
+         */
+        private void invokeMethod(Object[] args) throws InvocationTargetException {
+            try {
+                invoker.invokeExact(args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
         String[] getAliases() {
             return aliases;
         }
@@ -447,6 +480,10 @@ public class CommandManager {
             return method;
         }
 
+        ArgumentParser<?> getParser(int parameter) {
+            return argumentParsers[parameter];
+        }
+
         @Override
         public String toString() {
             return "InternalCommand{" +
@@ -0,0 +1,181 @@
+/*
+ * This file is part of OneConfig.
+ * OneConfig - Next Generation Config Library for Minecraft: Java Edition
+ * Copyright (C) 2021~2023 Polyfrost.
+ *   <https://polyfrost.cc> <https://github.com/Polyfrost/>
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ *   OneConfig is licensed under the terms of version 3 of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, AND
+ * under the Additional Terms Applicable to OneConfig, as published by Polyfrost,
+ * either version 1.0 of the Additional Terms, or (at your option) any later
+ * version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public
+ * License.  If not, see <https://www.gnu.org/licenses/>. You should
+ * have also received a copy of the Additional Terms Applicable
+ * to OneConfig, as published by Polyfrost. If not, see
+ * <https://polyfrost.cc/legal/oneconfig/additional-terms>
+ */
+
+package cc.polyfrost.oneconfig.utils.commands;
+
+import cc.polyfrost.oneconfig.utils.commands.annotations.Greedy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static cc.polyfrost.oneconfig.utils.commands.CommandManager.DELIMITER;
+import static cc.polyfrost.oneconfig.utils.commands.CommandManager.MAIN_METHOD_NAME;
+
+/**
+ * The paths of a command compiled into a trie, so routing and tab completion only walk as deep as the arguments go.
+ */
+final class CommandTrie {
+    private static final String MAIN_SUFFIX = MAIN_METHOD_NAME.toLowerCase();
+    private final Node root = new Node();
+
+    CommandTrie(Map<CommandManager.InternalCommand, String[]> commandsMap) {
+        for (Map.Entry<CommandManager.InternalCommand, String[]> entry : commandsMap.entrySet()) {
+            for (String path : entry.getValue()) {
+                insert(path, entry.getKey());
+            }
+        }
+    }
+
+    private void insert(String path, CommandManager.InternalCommand command) {
+        boolean main = path.endsWith(MAIN_SUFFIX);
+        if (main) {
+            path = path.substring(0, path.length() - MAIN_SUFFIX.length());
+            if (path.endsWith(DELIMITER)) path = path.substring(0, path.length() - DELIMITER.length());
+        }
+        Node node = root;
+        if (!path.isEmpty()) {
+            for (String segment : path.split(DELIMITER, -1)) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.commands.add(new Target(command, main));
+    }
+
+    /**
+     * Find the command the given arguments are for, and the arguments that are left for it.
+     */
+    @Nullable
+    CommandManager.Pair<String[], CommandManager.InternalCommand> getCommand(String[] args) {
+        String[] lowerArgs = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            lowerArgs[i] = args[i].toLowerCase();
+        }
+        // work backwards to find the first match
+        for (int length = args.length; length > 0; length--) {
+            CommandManager.Pair<Integer, CommandManager.InternalCommand> command = get(lowerArgs, length);
+            if (command != null) {
+                int skipArgs = command.getKey();
+                String[] newArgs = new String[args.length - skipArgs];
+                System.arraycopy(args, skipArgs, newArgs, 0, args.length - skipArgs);
+                return new CommandManager.Pair<>(newArgs, command.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The command at exactly the given path, or the best command the rest of the path can be arguments for,
+     * along with the depth of its path.
+     */
+    @Nullable
+    private CommandManager.Pair<Integer, CommandManager.InternalCommand> get(String[] args, int length) {
+        Node node = walk(args, length);
+        if (node != null && !node.commands.isEmpty()) {
+            return new CommandManager.Pair<>(length, node.commands.get(0).command);
+        }
+        // trailing empty arguments are ignored, as in String#split
+        int trimmed = length;
+        while (trimmed > 0 && args[trimmed - 1].isEmpty()) trimmed--;
+        if (trimmed == 0 || !getApplicableOpts(args, trimmed).isEmpty()) return null;
+        return getFallback(args, trimmed);
+    }
+
+    @Nullable
+    private CommandManager.Pair<Integer, CommandManager.InternalCommand> getFallback(String[] args, int length) {
+        for (int depth = length; depth >= 0; depth--) {
+            Node node = walk(args, depth);
+            if (node == null) continue;
+            for (Target target : node.commands) {
+                if (depth == 0 && !target.main) continue;
+                Method method = target.command.getUnderlyingMethod();
+                if (method.getParameterCount() == 0) continue;
+                if (method.getParameterCount() == length || method.getParameters()[method.getParameterCount() - 1].isAnnotationPresent(Greedy.class)) {
+                    return new CommandManager.Pair<>(depth, target.command);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The subcommands the last of the given arguments could be completed to.
+     */
+    @NotNull
+    Collection<String> getApplicableOptsFor(String[] args) {
+        String[] lowerArgs = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            lowerArgs[i] = args[i].toLowerCase();
+        }
+        return getApplicableOpts(lowerArgs, args.length);
+    }
+
+    private Collection<String> getApplicableOpts(String[] args, int length) {
+        if (length == 0) return Collections.emptySet();
+        Node node = walk(args, length - 1);
+        if (node == null) return Collections.emptySet();
+        String current = args[length - 1];
+        if (current.isEmpty()) return node.childNames;
+        Set<String> opts = new LinkedHashSet<>();
+        for (String name : node.childNames) {
+            if (name.startsWith(current)) opts.add(name);
+        }
+        return opts;
+    }
+
+    @Nullable
+    private Node walk(String[] args, int length) {
+        Node node = root;
+        for (int i = 0; i < length && node != null; i++) {
+            node = node.children.get(args[i]);
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final Set<String> childNames = Collections.unmodifiableSet(children.keySet());
+        private final List<Target> commands = new ArrayList<>(1);
+    }
+
+    private static final class Target {
+        private final CommandManager.InternalCommand command;
+        private final boolean main;
+
+        private Target(CommandManager.InternalCommand command, boolean main) {
+            this.command = command;
+            this.main = main;
+        }
+    }
+}
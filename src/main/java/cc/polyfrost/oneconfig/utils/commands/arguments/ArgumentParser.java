@@ -105,25 +105,28 @@ public abstract class ArgumentParser<T> {
     public static class BooleanParser extends ArgumentParser<Boolean> {
         private static final Map<String, List<String>> VALUES =
                 Maps.newHashMap();
+        /**
+         * Every accepted spelling (including the keys themselves) mapped straight to its value.
+         */
+        private static final Map<String, Boolean> LOOKUP = new HashMap<>();
+        private static final String EXPECTED;
 
         static {
             VALUES.put("true", Lists.newArrayList("on", "yes", "y", "enabled", "enable", "1"));
             VALUES.put("false", Lists.newArrayList("off", "no", "n", "disabled", "disable", "0"));
+            for (Map.Entry<String, List<String>> entry : VALUES.entrySet()) {
+                Boolean value = Boolean.parseBoolean(entry.getKey());
+                LOOKUP.put(entry.getKey(), value);
+                for (String alias : entry.getValue()) LOOKUP.put(alias, value);
+            }
+            EXPECTED = String.join(", ", VALUES.keySet());
         }
 
         @Override
         public @Nullable Boolean parse(@NotNull String s) {
-            return Boolean.parseBoolean(
-                    VALUES.entrySet().stream()
-                            .filter(it -> it.getKey().equalsIgnoreCase(s)
-                                    || it.getValue().contains(s.toLowerCase()))
-                            .map(Map.Entry::getKey)
-                            .findFirst()
-                            .orElseThrow(() -> new IllegalArgumentException(
-                                    s + " is not any of: "
-                                            + String.join(", ", VALUES.keySet())
-                            ))
-            );
+            Boolean value = LOOKUP.get(s.toLowerCase(Locale.ENGLISH));
+            if (value == null) throw new IllegalArgumentException(s + " is not any of: " + EXPECTED);
+            return value;
         }
 
         @NotNull
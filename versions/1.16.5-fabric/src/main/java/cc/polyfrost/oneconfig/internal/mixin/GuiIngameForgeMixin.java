@@ -40,6 +40,6 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public class GuiIngameForgeMixin {
     @Inject(method = "render", at = @At("TAIL"))
     private void onRenderGameOverlay(MatrixStack matrices, float tickDelta, CallbackInfo ci) {
-        EventManager.INSTANCE.post(new HudRenderEvent(new UMatrixStack(matrices), tickDelta));
+        EventManager.INSTANCE.post(HudRenderEvent.of(new UMatrixStack(matrices), tickDelta));
     }
 }
\ No newline at end of file
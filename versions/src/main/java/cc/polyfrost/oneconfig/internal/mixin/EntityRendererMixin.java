@@ -29,13 +29,18 @@ package cc.polyfrost.oneconfig.internal.mixin;
 import cc.polyfrost.oneconfig.hud.Hud;
 import cc.polyfrost.oneconfig.libs.universal.UGraphics;
 import cc.polyfrost.oneconfig.libs.universal.UMatrixStack;
+import cc.polyfrost.oneconfig.utils.SimpleProfiler;
 import net.minecraft.client.renderer.EntityRenderer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import java.lang.reflect.Field;
+import java.util.Map;
+
 import static cc.polyfrost.oneconfig.internal.hud.HudCore.editing;
+import static cc.polyfrost.oneconfig.internal.hud.HudCore.getProfilerSection;
 import static cc.polyfrost.oneconfig.internal.hud.HudCore.huds;
 
 @Mixin(EntityRenderer.class)
@@ -45,12 +50,16 @@ public class EntityRendererMixin {
     private void drawHud(float partialTicks, long nanoTime, CallbackInfo ci) {
         if (editing) return;
         UMatrixStack matrices = new UMatrixStack();
-        for (Hud hud : huds.values()) {
+        for (Map.Entry<Map.Entry<Field, Object>, Hud> entry : huds.entrySet()) {
+            Hud hud = entry.getValue();
             if (!hud.isEnabled() || !hud.isCachingIgnored()) continue;
             hud.deltaTicks = partialTicks;
             UGraphics.enableAlpha();
             UGraphics.enableBlend();
+            SimpleProfiler.Section section = getProfilerSection(entry.getKey());
+            long start = section.start();
             hud.drawAll(matrices, false);
+            section.stop(start);
         }
     }
 }
@@ -82,32 +82,32 @@ public class MinecraftMixin {
 
     @Inject(method = "runGameLoop", at = @At(value = "INVOKE", target = UPDATE_CAMERA_AND_RENDER))
     private void onRenderTickStart(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new RenderEvent(Stage.START, this.timer.renderPartialTicks));
+        EventManager.INSTANCE.post(RenderEvent.of(Stage.START, this.timer.renderPartialTicks));
     }
 
     @Inject(method = "runGameLoop", at = @At(value = "INVOKE", target = UPDATE_CAMERA_AND_RENDER, shift = At.Shift.AFTER))
     private void onRenderTickEnd(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new RenderEvent(Stage.END, this.timer.renderPartialTicks));
+        EventManager.INSTANCE.post(RenderEvent.of(Stage.END, this.timer.renderPartialTicks));
     }
 
     @Inject(method = "runGameLoop", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/shader/Framebuffer;framebufferRender(II)V"))
     private void onFramebufferStart(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new FramebufferRenderEvent(Stage.START));
+        EventManager.INSTANCE.post(FramebufferRenderEvent.of(Stage.START));
     }
 
     @Inject(method = "runGameLoop", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/shader/Framebuffer;framebufferRender(II)V", shift = At.Shift.AFTER))
     private void onFramebufferEnd(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new FramebufferRenderEvent(Stage.END));
+        EventManager.INSTANCE.post(FramebufferRenderEvent.of(Stage.END));
     }
 
     @Inject(method = "runTick", at = @At(value = "INVOKE", target = "Lnet/minecraft/profiler/Profiler;startSection(Ljava/lang/String;)V", ordinal = 0))
     private void onClientTickStart(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new TickEvent(Stage.START));
+        EventManager.INSTANCE.post(TickEvent.of(Stage.START));
     }
 
     @Inject(method = "runTick", at = @At("TAIL"))
     private void onClientTickEnd(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new TickEvent(Stage.END));
+        EventManager.INSTANCE.post(TickEvent.of(Stage.END));
     }
 
     //#if FORGE==1
@@ -152,7 +152,7 @@ public class MinecraftMixin {
     //#if MC<=11202
     @Inject(method = "runGameLoop", at = @At(value = "FIELD", target = "Lnet/minecraft/util/Timer;renderPartialTicks:F", opcode = Opcodes.PUTFIELD, shift = At.Shift.AFTER))
     private void onNonDeltaTickTimerUpdate(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new TimerUpdateEvent(this.timer, false));
+        EventManager.INSTANCE.post(TimerUpdateEvent.of(this.timer, false));
     }
     //#endif
 
@@ -167,7 +167,7 @@ public class MinecraftMixin {
             //#endif
     ))
     private void onDeltaTickTimerUpdate(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new TimerUpdateEvent(this.timer, true));
+        EventManager.INSTANCE.post(TimerUpdateEvent.of(this.timer, true));
     }
 
     //#if MC<=11202
@@ -188,7 +188,7 @@ public class MinecraftMixin {
 
     @Inject(method = "runTick", at = @At(value = "INVOKE", target = "Lnet/minecraftforge/fml/common/FMLCommonHandler;fireKeyInput()V", remap = false), remap = true)
     private void onKeyInputEvent(CallbackInfo ci) {
-        EventManager.INSTANCE.post(new KeyInputEvent());
+        EventManager.INSTANCE.post(new KeyInputEvent(Keyboard.getEventKey()));
     }
 
     @Inject(method = "runTick", at = @At(value = "INVOKE", target = "Lnet/minecraftforge/client/ForgeHooksClient;postMouseEvent()Z", remap = false), remap = true)
@@ -216,7 +216,7 @@ public class MinecraftMixin {
     //$$
     //$$ @Inject(method = "runTickKeyboard", at = @At(value = "INVOKE", target = "Lnet/minecraftforge/fml/common/FMLCommonHandler;fireKeyInput()V", remap = false), remap = true)
     //$$ private void onKeyInputEvent(CallbackInfo ci) {
-    //$$     EventManager.INSTANCE.post(new KeyInputEvent());
+    //$$     EventManager.INSTANCE.post(new KeyInputEvent(Keyboard.getEventKey()));
     //$$ }
     //$$
     //$$ @Inject(method = "runTickMouse", at = @At(value = "INVOKE", target = "Lnet/minecraftforge/client/ForgeHooksClient;postMouseEvent()Z", remap = false), remap = true)
@@ -246,7 +246,7 @@ public class MinecraftMixin {
     //$$
     //$$ @Inject(method = "tick", at = @At(value = "JUMP", opcode = Opcodes.GOTO, ordinal = 22, by = 2, shift = At.Shift.BY))
     //$$ private void onKeyInputEvent(CallbackInfo ci) {
-    //$$     EventManager.INSTANCE.post(new KeyInputEvent());
+    //$$     EventManager.INSTANCE.post(new KeyInputEvent(Keyboard.getEventKey()));
     //$$ }
     //$$
     //$$ @Inject(method = "tick", at = @At(value = "INVOKE", target = "Lorg/lwjgl/input/Mouse;getEventButton()I"))
@@ -274,7 +274,7 @@ public class MinecraftMixin {
     //$$
     //$$ @Inject(method = "method_12145", at = @At(value = "FIELD", target = "Lnet/minecraft/client/options/GameOptions;debugFpsEnabled:Z", opcode = Opcodes.PUTFIELD, shift = At.Shift.BY, by = 2))
     //$$ private void onKeyInputEvent(CallbackInfo ci) {
-    //$$     EventManager.INSTANCE.post(new KeyInputEvent());
+    //$$     EventManager.INSTANCE.post(new KeyInputEvent(Keyboard.getEventKey()));
     //$$ }
     //$$
     //$$ @Inject(method = "method_12141", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/options/KeyBinding;setKeyPressed(IZ)V"))
@@ -54,8 +54,9 @@ public class NetworkManagerMixin {
 
     @Inject(method = "sendPacket(Lnet/minecraft/network/Packet;)V", at = @At("HEAD"), cancellable = true)
     private void onSendPacket(Packet<?> packetIn, CallbackInfo ci) {
+        if (!EventManager.INSTANCE.hasPacketSubscribers(SendPacketEvent.class, packetIn.getClass())) return;
         SendPacketEvent event = new SendPacketEvent(packetIn);
-        EventManager.INSTANCE.post(event);
+        EventManager.INSTANCE.postPacket(event, packetIn.getClass());
         if (event.isCancelled) {
             ci.cancel();
         }
@@ -63,8 +64,9 @@ public class NetworkManagerMixin {
 
     @Inject(method = "channelRead0(Lio/netty/channel/ChannelHandlerContext;Lnet/minecraft/network/Packet;)V", at = @At("HEAD"), cancellable = true)
     private void onReceivePacket(ChannelHandlerContext p_channelRead0_1_, Packet<?> p_channelRead0_2_, CallbackInfo ci) {
+        if (!EventManager.INSTANCE.hasPacketSubscribers(ReceivePacketEvent.class, p_channelRead0_2_.getClass())) return;
         ReceivePacketEvent event = new ReceivePacketEvent(p_channelRead0_2_);
-        EventManager.INSTANCE.post(event);
+        EventManager.INSTANCE.postPacket(event, p_channelRead0_2_.getClass());
         if (event.isCancelled) {
             ci.cancel();
         }
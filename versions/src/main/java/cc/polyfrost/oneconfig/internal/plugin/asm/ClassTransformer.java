@@ -38,6 +38,13 @@ import org.objectweb.asm.tree.ClassNode;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -57,6 +64,13 @@ public class ClassTransformer
     private final Multimap<String, ITransformer> transformerMap = ArrayListMultimap.create();
     //#if FORGE==1 && MC<=11202
     private static final boolean outputBytecode = Boolean.parseBoolean(System.getProperty("debugBytecode", "false"));
+    private static final File cacheDirectory = new File("OneConfig/cache/asm");
+    private static final int HASH_LENGTH = 32;
+    /**
+     * Hash of the bytecode of every registered transformer, so cached output is invalidated when they change.
+     */
+    private final MessageDigest transformersDigest = newDigest();
+    private boolean transformersCacheable = true;
     //#endif
 
     public ClassTransformer() {
@@ -69,6 +83,21 @@ public class ClassTransformer
             // put the classes into the transformer map
             transformerMap.put(cls, transformer);
         }
+        //#if FORGE==1 && MC<=11202
+        String resource = "/" + transformer.getClass().getName().replace('.', '/') + ".class";
+        try (InputStream in = transformer.getClass().getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Could not find " + resource);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                transformersDigest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            // the output can't be cached reliably without knowing the transformer
+            logger.warn("Failed to hash transformer " + transformer.getClass().getName() + ", disabling the transformer cache", e);
+            transformersCacheable = false;
+        }
+        //#endif
     }
 
     //#if FABRIC==1
@@ -88,6 +117,10 @@ public class ClassTransformer
         Collection<ITransformer> transformers = transformerMap.get(transformedName);
         if (transformers.isEmpty()) return bytes;
 
+        byte[] key = getCacheKey(transformedName, bytes);
+        byte[] cached = readCache(transformedName, key);
+        if (cached != null) return cached;
+
         ClassReader reader = new ClassReader(bytes);
         ClassNode node = new ClassNode();
         reader.accept(node, ClassReader.EXPAND_FRAMES);
@@ -97,12 +130,16 @@ public class ClassTransformer
         }
 
         ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        boolean failed = false;
         try {
             node.accept(cw);
         } catch (Throwable t) {
             logger.error("Exception when transforming " + transformedName + " : " + t.getClass().getSimpleName());
             t.printStackTrace();
+            failed = true;
         }
+        byte[] transformed = cw.toByteArray();
+        if (!failed) writeCache(transformedName, key, transformed);
 
         if (outputBytecode) {
             File bytecodeDirectory = new File("bytecode");
@@ -132,13 +169,71 @@ public class ClassTransformer
             try (FileOutputStream os = new FileOutputStream(bytecodeOutput)) {
                 // write to the generated class to /run/bytecode/classfile.class
                 // with the class bytes from transforming
-                os.write(cw.toByteArray());
+                os.write(transformed);
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
 
-        return cw.toByteArray();
+        return transformed;
+    }
+
+    /**
+     * The output only depends on the class, its input bytecode and the transformers, so that's what the cache is keyed by.
+     * The cache is not used while debugging bytecode, so that every class is dumped and really runs through the transformers.
+     */
+    private byte[] getCacheKey(String transformedName, byte[] bytes) {
+        if (!transformersCacheable || outputBytecode) return null;
+        MessageDigest digest = newDigest();
+        try {
+            digest.update(((MessageDigest) transformersDigest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            return null;
+        }
+        digest.update(transformedName.getBytes(StandardCharsets.UTF_8));
+        digest.update(bytes);
+        return digest.digest();
+    }
+
+    /**
+     * Cache entries are stored as the key followed by the transformed class, so a stale entry is simply overwritten.
+     */
+    private static byte[] readCache(String transformedName, byte[] key) {
+        if (key == null) return null;
+        File file = new File(cacheDirectory, transformedName + ".class");
+        if (!file.isFile()) return null;
+        try {
+            byte[] entry = Files.readAllBytes(file.toPath());
+            if (entry.length <= HASH_LENGTH || !Arrays.equals(key, Arrays.copyOf(entry, HASH_LENGTH))) return null;
+            return Arrays.copyOfRange(entry, HASH_LENGTH, entry.length);
+        } catch (IOException e) {
+            logger.warn("Failed to read cached transformation of " + transformedName, e);
+            return null;
+        }
+    }
+
+    private static void writeCache(String transformedName, byte[] key, byte[] transformed) {
+        if (key == null) return;
+        try {
+            if (!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs()) return;
+            File file = new File(cacheDirectory, transformedName + ".class");
+            File temp = File.createTempFile(transformedName, ".tmp", cacheDirectory);
+            try (FileOutputStream os = new FileOutputStream(temp)) {
+                os.write(key);
+                os.write(transformed);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Failed to cache transformation of " + transformedName, e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
     //#endif
 }
\ No newline at end of file
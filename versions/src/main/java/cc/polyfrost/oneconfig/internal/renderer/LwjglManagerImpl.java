@@ -7,6 +7,7 @@ import cc.polyfrost.oneconfig.renderer.TinyFD;
 import cc.polyfrost.oneconfig.renderer.asset.AssetHelper;
 import cc.polyfrost.oneconfig.renderer.font.FontHelper;
 import cc.polyfrost.oneconfig.renderer.scissor.ScissorHelper;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,7 +41,6 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.security.ProtectionDomain;
 import java.util.Arrays;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +57,7 @@ public class LwjglManagerImpl
     private static final Object unsafeInstance;
     private static final Method defineClassMethod;
     private static final Map<String, String> remappingMap;
+    private static final Map<String, String> reverseRemappingMap;
 
     private static final String LWJGL_FUNCTION_PROVIDER =
             "cc.polyfrost.oneconfig.internal.plugin.hooks.Lwjgl2FunctionProvider";
@@ -67,6 +68,13 @@ public class LwjglManagerImpl
     private static final String JAR_NAME = "oneconfig-lwjgl3.jar";
     private static final URL jarFile = getJarFile();
 
+    /**
+     * Bump this whenever the remapping table or {@link #transformClass(String, byte[])} changes,
+     * so classes cached by older versions are not reused.
+     */
+    private static final int CLASS_CACHE_VERSION = 1;
+    private static final File classCacheDir = getClassCacheDir();
+
     private final AssetHelper assetHelper;
     private final NanoVGHelper nanoVGHelper;
     private final ScissorHelper scissorHelper;
@@ -83,6 +91,7 @@ public class LwjglManagerImpl
             classLoaderInclude.add("cc.polyfrost.oneconfig.internal.renderer.ScissorHelperImpl");
             classLoaderInclude.add("cc.polyfrost.oneconfig.internal.renderer.NanoVGHelperImpl");
             classLoaderInclude.add("cc.polyfrost.oneconfig.internal.renderer.AssetHelperImpl");
+            classLoaderInclude.add("cc.polyfrost.oneconfig.internal.renderer.IconAtlas");
             classLoaderInclude.add("cc.polyfrost.oneconfig.internal.renderer.TinyFDImpl");
             // Provider
             classLoaderInclude.add(LWJGL_FUNCTION_PROVIDER);
@@ -163,11 +172,10 @@ public class LwjglManagerImpl
                 name.replace('.', '/'),
                 name
         ).replace('/', '.');
-        String unmappedName = remappingMap.keySet().stream()
-                .filter(it -> remappingMap.get(it).equalsIgnoreCase(remappedName.replace('.', '/')))
-                .findFirst()
-                .orElse(name)
-                .replace('/', '.');
+        String unmappedName = reverseRemappingMap.getOrDefault(
+                remappedName.replace('.', '/'),
+                name
+        ).replace('/', '.');
 
         // if it exists in the remapping map
         if (!remappedName.equals(unmappedName)) {
@@ -191,27 +199,25 @@ public class LwjglManagerImpl
 
         try {
             String path = unmappedName.replace('.', '/').concat(".class");
-            URL classUrl = null;
-            // First check the lwjgl jar
-            Enumeration<URL> urls = getResources(path);
-            while (urls.hasMoreElements()) {
-                URL url = urls.nextElement();
-
-                // check that the URL is provided from the custom lwjgl jar
-                if (!url.toString().contains(JAR_NAME)) continue;
+            // Classes from the lwjgl jar are cached after being transformed, so later launches can skip ASM
+            byte[] classBuffer = readCachedClass(path);
+            if (classBuffer == null) {
+                // First check the lwjgl jar (findResource only looks at our own URLs)
+                URL classUrl = findResource(path);
+                boolean fromLwjglJar = classUrl != null;
 
-                classUrl = url;
-                break;
-            }
-
-            if (classUrl == null) {
-                classUrl = getParent().getResource(path);
                 if (classUrl == null) {
-                    throw new ClassNotFoundException(name);
+                    classUrl = getParent().getResource(path);
+                    if (classUrl == null) {
+                        throw new ClassNotFoundException(name);
+                    }
                 }
-            }
 
-            byte[] classBuffer = IOUtils.toByteArray(classUrl);
+                classBuffer = transformClass(unmappedName, IOUtils.toByteArray(classUrl));
+                if (fromLwjglJar) {
+                    writeCachedClass(path, classBuffer);
+                }
+            }
 
             // define class through Unsafe to bypass package seal checking
             Class<?> clazz = defineClassBypass(unmappedName, classBuffer);
@@ -226,6 +232,17 @@ public class LwjglManagerImpl
         name = remappingMap.getOrDefault(name.replace('.', '/'), name)
                 .replace('/', '.');
 
+        try {
+            return (Class<?>) defineClassMethod.invoke(unsafeInstance, name, b, 0, b.length, /*classLoader = */this, null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("whoops...", e);
+        }
+    }
+
+    private byte[] transformClass(String name, byte[] b) {
+        name = remappingMap.getOrDefault(name.replace('.', '/'), name)
+                .replace('/', '.');
+
         ClassReader classReader = new ClassReader(b);
         Remapper remapper = new Remapper() {
             @Override
@@ -259,10 +276,31 @@ public class LwjglManagerImpl
         }
         //#endif
 
+        return b;
+    }
+
+    private static byte[] readCachedClass(String path) {
+        if (classCacheDir == null) return null;
+        File file = new File(classCacheDir, path);
+        if (!file.isFile()) return null;
         try {
-            return (Class<?>) defineClassMethod.invoke(unsafeInstance, name, b, 0, b.length, /*classLoader = */this, null);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("whoops...", e);
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read cached class " + path, e);
+            return null;
+        }
+    }
+
+    private static void writeCachedClass(String path, byte[] b) {
+        if (classCacheDir == null) return;
+        File file = new File(classCacheDir, path);
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            File temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            Files.write(temp.toPath(), b);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to cache class " + path, e);
         }
     }
 
@@ -308,6 +346,8 @@ public class LwjglManagerImpl
             remappingMap.put("org/lwjgl/PointerBuffer", "org/lwjgl/actually3/PointerBuffer");
             remappingMap.put("org/lwjgl/CLongBuffer", "org/lwjgl/actually3/CLongBuffer");
             //#endif
+            reverseRemappingMap = new HashMap<>();
+            remappingMap.forEach((unmapped, remapped) -> reverseRemappingMap.put(remapped, unmapped));
 
             Class<?> unsafeClass;
             try {
@@ -346,6 +386,7 @@ public class LwjglManagerImpl
             }
         } else {
             remappingMap = null;
+            reverseRemappingMap = null;
             unsafeInstance = null;
             defineClassMethod = null;
         }
@@ -387,6 +428,29 @@ public class LwjglManagerImpl
         }
     }
 
+    /**
+     * The transformed classes of the lwjgl jar only depend on the jar itself, so they are cached in a
+     * directory named after its checksum. Directories of other jars are deleted.
+     */
+    private static File getClassCacheDir() {
+        if (isPojav) return null;
+        String checksum = cc.polyfrost.oneconfig.utils.IOUtils.getFileChecksum(new File("./OneConfig/temp/" + JAR_NAME));
+        if (checksum.isEmpty()) return null;
+        File root = new File("./OneConfig/cache/lwjgl");
+        File dir = new File(root, CLASS_CACHE_VERSION + "-" + checksum);
+        File[] stale = root.listFiles(file -> file.isDirectory() && !file.getName().equals(dir.getName()));
+        if (stale != null) {
+            for (File file : stale) {
+                FileUtils.deleteQuietly(file);
+            }
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            LOGGER.warn("Could not create LWJGL class cache folder");
+            return null;
+        }
+        return dir;
+    }
+
     private static boolean checkPojav() {
         try {
             Class.forName("org.lwjgl.glfw.CallbackBridge");